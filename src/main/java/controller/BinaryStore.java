@@ -0,0 +1,439 @@
+package controller;
+
+import model.ReminderType;
+import model.TaskStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reads and writes the binary snapshot format. A file starts with a magic number and a format
+ * version, followed by the category and priority names, which act as dictionaries, and then the
+ * tasks. Each task record is prefixed with its length, so readers of this version skip fields added
+ * by later ones. Tasks refer to categories and priorities by dictionary index, dates are stored as
+ * epoch days and enums as ordinals, so reading a task involves no parsing or name lookups.
+ * <p>
+ * Layout, big-endian; strings are an int byte length followed by UTF-8 bytes:
+ * <pre>
+ * int magic, short version
+ * since version 3, long journalSequence, the last journal record the store holds
+ * int categoryCount, string[categoryCount]
+ * int priorityCount, string[priorityCount]
+ * int taskCount, then per task:
+ *   int recordLength, string id, string title, string description,
+ *   int categoryIndex, int priorityIndex, int deadlineEpochDay, byte statusOrdinal,
+ *   short reminderCount, then per reminder: string id, byte typeOrdinal, int dateEpochDay
+ * since version 2, the archive the store is paired with:
+ *   string archiveFile, empty when there is none,
+ *   int categoryCount, string[categoryCount], the current names of the archive's categories
+ *   int priorityCount, string[priorityCount], the current names of the archive's priorities
+ *   int withdrawnCount, string[withdrawnCount], the ids of archived tasks no longer archived
+ * </pre>
+ * An archive file (see {@link TaskArchive}) has the same layout up to the end of its tasks, which
+ * are sorted by id and have no reminders.
+ */
+class BinaryStore {
+    static final int MAGIC = 0x4D4C5342;
+    static final short VERSION = 3;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final ReminderType[] REMINDER_TYPES = ReminderType.values();
+
+    private BinaryStore() {
+    }
+
+    /**
+     * Writes a snapshot. Names used by tasks but missing from the snapshot's lists are added to the
+     * dictionaries, so every reference can be resolved when the file is read.
+     */
+    static void write(StoreSnapshot snapshot, OutputStream target) throws IOException {
+        Map<String, Integer> categoryIndexes = dictionary(snapshot.getCategoryNames());
+        Map<String, Integer> priorityIndexes = dictionary(snapshot.getPriorityNames());
+        for (StoreSnapshot.TaskEntry task : snapshot.getTasks()) {
+            categoryIndexes.putIfAbsent(task.category, categoryIndexes.size());
+            priorityIndexes.putIfAbsent(task.priority, priorityIndexes.size());
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, WRITE_BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(snapshot.getJournalSequence());
+        writeNames(out, categoryIndexes);
+        writeNames(out, priorityIndexes);
+
+        out.writeInt(snapshot.getTasks().size());
+        for (StoreSnapshot.TaskEntry task : snapshot.getTasks()) {
+            writeTask(out, task, categoryIndexes.get(task.category), priorityIndexes.get(task.priority));
+        }
+
+        TaskArchive.State archive = snapshot.getArchive();
+        writeString(out, archive == null ? "" : archive.file);
+        writeNames(out, archive == null ? List.of() : archive.categoryNames);
+        writeNames(out, archive == null ? List.of() : archive.priorityNames);
+        writeNames(out, archive == null ? List.of() : archive.withdrawnIds());
+        out.flush();
+    }
+
+    /**
+     * Writes an archive holding the tasks of a previous archive that are still archived together
+     * with newly archived tasks, merged in id order. Records of the previous archive are copied as
+     * they are, so its dictionaries must be a prefix of the new ones.
+     *
+     * @param previous      The previous archive, or {@code null} if there is none.
+     * @param added         The newly archived tasks, sorted by id.
+     * @param categoryNames The category dictionary of the new archive.
+     * @param priorityNames The priority dictionary of the new archive.
+     */
+    static void writeArchive(TaskArchive.State previous, List<StoreSnapshot.TaskEntry> added,
+                             List<String> categoryNames, List<String> priorityNames, OutputStream target) throws IOException {
+        Map<String, Integer> categoryIndexes = dictionary(categoryNames);
+        Map<String, Integer> priorityIndexes = dictionary(priorityNames);
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, WRITE_BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        // The store paired with the archive records which journal records it holds
+        out.writeLong(0);
+        writeNames(out, categoryNames);
+        writeNames(out, priorityNames);
+
+        int[] offsets = previous == null ? new int[0] : previous.archive.offsets;
+        BitSet withdrawn = previous == null ? new BitSet() : previous.withdrawn;
+        out.writeInt(offsets.length - withdrawn.cardinality() + added.size());
+
+        int next = 0;
+        int position = withdrawn.nextClearBit(0);
+        while (position < offsets.length || next < added.size()) {
+            boolean copy = next == added.size() || (position < offsets.length
+                    && recordId(previous.archive.buffer, offsets[position]).compareTo(added.get(next).id) < 0);
+            if (copy) {
+                copyRecord(previous.archive.buffer, offsets[position], out);
+                position = withdrawn.nextClearBit(position + 1);
+            } else {
+                StoreSnapshot.TaskEntry task = added.get(next++);
+                writeTask(out, task, categoryIndexes.get(task.category), priorityIndexes.get(task.priority));
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Returns the names of a dictionary extended with the names the given tasks use that it lacks.
+     */
+    static List<String> extendDictionary(List<String> names, List<StoreSnapshot.TaskEntry> tasks,
+                                         Function<StoreSnapshot.TaskEntry, String> field) {
+        List<String> extended = new ArrayList<>(names);
+        Set<String> known = new HashSet<>(names);
+        for (StoreSnapshot.TaskEntry task : tasks) {
+            if (known.add(field.apply(task))) {
+                extended.add(field.apply(task));
+            }
+        }
+        return extended;
+    }
+
+    /**
+     * Maps a snapshot file into memory and checks its header.
+     *
+     * @throws IOException if the file cannot be read or is not a snapshot of a supported version.
+     */
+    static ByteBuffer open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            short version = buffer.getShort();
+            if (version > VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + path);
+            }
+            if (version >= 3) {
+                buffer.getLong();
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Reads a dictionary section at the buffer's position.
+     */
+    static List<String> readNames(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(readString(buffer));
+        }
+        return names;
+    }
+
+    /**
+     * Receives the fields of each task read from a snapshot.
+     */
+    interface TaskVisitor {
+        void task(String id, String title, String description, int categoryIndex, int priorityIndex,
+                  LocalDate deadline, TaskStatus status);
+
+        void reminder(String id, ReminderType type, LocalDate date);
+
+        void endTask();
+    }
+
+    /**
+     * Reads the task section at the buffer's position, which must follow both dictionaries.
+     */
+    static void readTasks(ByteBuffer buffer, TaskVisitor visitor) {
+        Dates dates = new Dates();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int offset = buffer.position();
+            readTask(buffer, offset, visitor, dates);
+            buffer.position(offset + 4 + buffer.getInt(offset));
+        }
+    }
+
+    /**
+     * Reads the task section at the buffer's position, returning where each task record starts.
+     */
+    static int[] readOffsets(ByteBuffer buffer) {
+        int[] offsets = new int[buffer.getInt()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = buffer.position();
+            buffer.position(offsets[i] + 4 + buffer.getInt(offsets[i]));
+        }
+        return offsets;
+    }
+
+    /**
+     * @return The format version of a buffer returned by {@link #open}.
+     */
+    static short version(ByteBuffer buffer) {
+        return buffer.getShort(4);
+    }
+
+    /**
+     * @return The sequence number of the last journal record a store returned by {@link #open}
+     * holds, or 0 if its version predates it.
+     */
+    static long journalSequence(ByteBuffer buffer) {
+        return version(buffer) >= 3 ? buffer.getLong(6) : 0;
+    }
+
+    /**
+     * Reads the task record starting at the given offset, without moving the buffer's position, so
+     * several threads may read the same buffer.
+     *
+     * @param dates Dates already read, shared so that equal dates are the same object.
+     */
+    static void readTask(ByteBuffer buffer, int offset, TaskVisitor visitor, Dates dates) {
+        int position = offset + 4;
+        String id = readString(buffer, position);
+        position += 4 + buffer.getInt(position);
+        String title = readString(buffer, position);
+        position += 4 + buffer.getInt(position);
+        String description = readString(buffer, position);
+        position += 4 + buffer.getInt(position);
+        int categoryIndex = buffer.getInt(position);
+        int priorityIndex = buffer.getInt(position + 4);
+        LocalDate deadline = dates.of(buffer.getInt(position + 8));
+        TaskStatus status = STATUSES[buffer.get(position + 12)];
+        visitor.task(id, title, description, categoryIndex, priorityIndex, deadline, status);
+
+        int reminderCount = buffer.getShort(position + 13);
+        position += 15;
+        for (int r = 0; r < reminderCount; r++) {
+            String reminderId = readString(buffer, position);
+            position += 4 + buffer.getInt(position);
+            ReminderType type = REMINDER_TYPES[buffer.get(position)];
+            LocalDate date = dates.of(buffer.getInt(position + 1));
+            position += 5;
+            visitor.reminder(reminderId, type, date);
+        }
+        visitor.endTask();
+    }
+
+    /**
+     * Dates already read, so that equal dates are the same object. A date's slot is picked by its
+     * epoch day, so a lookup needs no boxing or hashing; a date whose slot holds another one is made
+     * again and takes the slot over.
+     */
+    static final class Dates {
+        private static final int SLOTS = 4096;
+
+        private final LocalDate[] dates = new LocalDate[SLOTS];
+        private final int[] days = new int[SLOTS];
+
+        LocalDate of(int epochDay) {
+            int slot = epochDay & (SLOTS - 1);
+            LocalDate date = dates[slot];
+            if (date == null || days[slot] != epochDay) {
+                date = LocalDate.ofEpochDay(epochDay);
+                dates[slot] = date;
+                days[slot] = epochDay;
+            }
+            return date;
+        }
+    }
+
+    /**
+     * @return The id of the task record starting at the given offset.
+     */
+    static String recordId(ByteBuffer buffer, int offset) {
+        return readString(buffer, offset + 4);
+    }
+
+    /**
+     * @return The title of the task record starting at the given offset.
+     */
+    static String recordTitle(ByteBuffer buffer, int offset) {
+        int position = offset + 4;
+        return readString(buffer, position + 4 + buffer.getInt(position));
+    }
+
+    /**
+     * @return The category index of the task record starting at the given offset.
+     */
+    static int recordCategory(ByteBuffer buffer, int offset) {
+        return buffer.getInt(categoryPosition(buffer, offset));
+    }
+
+    /**
+     * @return The priority index of the task record starting at the given offset.
+     */
+    static int recordPriority(ByteBuffer buffer, int offset) {
+        return buffer.getInt(categoryPosition(buffer, offset) + 4);
+    }
+
+    /**
+     * Reads the archive section of a version 2 store at the buffer's position, which must follow the
+     * task section.
+     *
+     * @return The archive file, the current names of its categories and priorities and the ids
+     * withdrawn from it, or {@code null} if the store has no archive.
+     */
+    static ArchiveSection readArchiveSection(ByteBuffer buffer) {
+        if (version(buffer) < 2) {
+            return null;
+        }
+        String file = readString(buffer);
+        ArchiveSection section = new ArchiveSection(file, readNames(buffer), readNames(buffer), readNames(buffer));
+        return file.isEmpty() ? null : section;
+    }
+
+    /**
+     * The archive section of a store file.
+     */
+    static class ArchiveSection {
+        final String file;
+        final List<String> categoryNames;
+        final List<String> priorityNames;
+        final List<String> withdrawnIds;
+
+        ArchiveSection(String file, List<String> categoryNames, List<String> priorityNames, List<String> withdrawnIds) {
+            this.file = file;
+            this.categoryNames = categoryNames;
+            this.priorityNames = priorityNames;
+            this.withdrawnIds = withdrawnIds;
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, StoreSnapshot.TaskEntry task, int categoryIndex,
+                                  int priorityIndex) throws IOException {
+        byte[] id = task.id.getBytes(StandardCharsets.UTF_8);
+        byte[] title = task.title.getBytes(StandardCharsets.UTF_8);
+        byte[] description = task.description.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> reminderIds = new ArrayList<>(task.reminders.size());
+        int length = 3 * 4 + id.length + title.length + description.length + 4 + 4 + 4 + 1 + 2;
+        for (StoreSnapshot.ReminderEntry reminder : task.reminders) {
+            byte[] reminderId = reminder.id.getBytes(StandardCharsets.UTF_8);
+            reminderIds.add(reminderId);
+            length += 4 + reminderId.length + 1 + 4;
+        }
+
+        out.writeInt(length);
+        writeBytes(out, id);
+        writeBytes(out, title);
+        writeBytes(out, description);
+        out.writeInt(categoryIndex);
+        out.writeInt(priorityIndex);
+        out.writeInt((int) task.deadline.toEpochDay());
+        out.writeByte(task.status.ordinal());
+        out.writeShort(task.reminders.size());
+        for (int i = 0; i < task.reminders.size(); i++) {
+            StoreSnapshot.ReminderEntry reminder = task.reminders.get(i);
+            writeBytes(out, reminderIds.get(i));
+            out.writeByte(reminder.type.ordinal());
+            out.writeInt((int) reminder.date.toEpochDay());
+        }
+    }
+
+    private static void copyRecord(ByteBuffer buffer, int offset, DataOutputStream out) throws IOException {
+        byte[] record = new byte[4 + buffer.getInt(offset)];
+        buffer.get(offset, record);
+        out.write(record);
+    }
+
+    private static int categoryPosition(ByteBuffer buffer, int offset) {
+        int position = offset + 4;
+        for (int i = 0; i < 3; i++) {
+            position += 4 + buffer.getInt(position);
+        }
+        return position;
+    }
+
+    private static Map<String, Integer> dictionary(List<String> names) {
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        for (String name : names) {
+            indexes.putIfAbsent(name, indexes.size());
+        }
+        return indexes;
+    }
+
+    private static void writeNames(DataOutputStream out, Map<String, Integer> indexes) throws IOException {
+        writeNames(out, new ArrayList<>(indexes.keySet()));
+    }
+
+    private static void writeNames(DataOutputStream out, List<String> names) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names) {
+            writeString(out, name);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        String string = readString(buffer, buffer.position());
+        buffer.position(buffer.position() + 4 + buffer.getInt(buffer.position()));
+        return string;
+    }
+
+    private static String readString(ByteBuffer buffer, int position) {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,17 +1,29 @@
 package controller;
 
 import model.Category;
-import model.Task;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class CategoryController {
     private List<Category> categories;
+    private final List<Category> categoriesView;
+    private final ChangeNotifier<Category> notifier;
 
     public CategoryController() {
         this.categories = new ArrayList<>();
+        this.categoriesView = Collections.unmodifiableList(categories);
+        this.notifier = new ChangeNotifier<>();
+    }
+
+    public void addCategoryListener(ModelChangeListener<Category> listener) {
+        notifier.addListener(listener);
+    }
+
+    public void removeCategoryListener(ModelChangeListener<Category> listener) {
+        notifier.removeListener(listener);
     }
 
     public void addCategory(Category category) {
@@ -23,6 +35,7 @@ public class CategoryController {
         }
 
         categories.add(category);
+        notifier.fire(ModelChangeEvent.Type.ADDED, category);
     }
 
     public void removeCategory(Category category, TaskController taskController, ReminderController reminderController) {
@@ -33,14 +46,9 @@ public class CategoryController {
             throw new IllegalArgumentException("Category does not exist in the system.");
         }
 
-        List<Task> tasksToRemove = taskController.getTasks().stream()
-                .filter(task -> task.getCategory() == category)
-                .toList();
-
-        for (Task task : tasksToRemove) {
-            taskController.removeTask(task, reminderController);
-        }
+        taskController.removeTasksInCategory(category, reminderController);
         categories.remove(category);
+        notifier.fire(ModelChangeEvent.Type.REMOVED, category);
     }
 
     public void updateCategory(Category category, String newName) {
@@ -54,12 +62,17 @@ public class CategoryController {
             throw new IllegalArgumentException("Category name must be unique.");
         }
         category.setName(newName);
+        notifier.fire(ModelChangeEvent.Type.UPDATED, category);
     }
 
     public List<Category> getCategories() {
         return new ArrayList<>(categories);
     }
 
+    public List<Category> getCategoriesView() {
+        return categoriesView;
+    }
+
     @Override
     public String toString() {
         return "CategoryController{" +
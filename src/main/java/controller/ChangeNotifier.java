@@ -0,0 +1,39 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the listeners of a controller and delivers its change events to them.
+ */
+class ChangeNotifier<T> {
+    private final List<ModelChangeListener<T>> listeners = new ArrayList<>();
+
+    void addListener(ModelChangeListener<T> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        listeners.add(listener);
+    }
+
+    void removeListener(ModelChangeListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    void fire(ModelChangeEvent.Type type, List<T> items) {
+        if (items.isEmpty() || listeners.isEmpty()) {
+            return;
+        }
+        ModelChangeEvent<T> event = new ModelChangeEvent<>(type, items);
+        for (ModelChangeListener<T> listener : new ArrayList<>(listeners)) {
+            listener.onChange(event);
+        }
+    }
+
+    void fire(ModelChangeEvent.Type type, T item) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        fire(type, List.of(item));
+    }
+}
@@ -4,19 +4,91 @@ import model.*;
 
 import javax.json.*;
 import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParser;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class DataController {
     private static final String DIRECTORY = "medialab";
     private static final String TASKS_FILE = DIRECTORY + "/tasks.json";
     private static final String CATEGORIES_FILE = DIRECTORY + "/categories.json";
     private static final String PRIORITIES_FILE = DIRECTORY + "/priorities.json";
+    private static final String STORE_FILE = DIRECTORY + "/store.bin";
+    private static final String DAMAGED_STORE_FILE = STORE_FILE + ".damaged";
+    private static final String ARCHIVE_FILE_FORMAT = "archive-%06d.bin";
+    private static final String ARCHIVE_FILE_GLOB = "archive-*.bin";
+    // The archive is rewritten once this many tasks, or an eighth of it, would be added or dropped
+    private static final int MIN_ARCHIVE_CHANGES = 1000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    // Loading JSON is given up once the heap is this full, so that a store too large for the heap is
+    // reported rather than ending the application with an OutOfMemoryError. Checked every so many tasks.
+    private static final double MAX_LOAD_HEAP_SHARE = 0.85;
+    private static final int HEAP_CHECK_INTERVAL = 10_000;
+
+    /**
+     * The format snapshots are saved in. JSON files can be read and edited by hand; the binary
+     * store is smaller and much faster to load. Either way the JSON files are still read when no
+     * binary store exists yet, so switching to the binary format imports the existing data. The
+     * mapped format is the binary one with completed tasks moved into a {@link TaskArchive}, which
+     * stays on disk and is read on demand.
+     */
+    public enum StorageFormat {
+        JSON,
+        BINARY,
+        MAPPED
+    }
+
+    private final JsonGeneratorFactory generatorFactory;
+    private final StorageFormat format;
+
+    // The last journal record held by the loaded categories, priorities and tasks, which the JSON
+    // format saves in separate files, and the last record replayed over them
+    private long categoriesSequence;
+    private long prioritiesSequence;
+    private long tasksSequence;
+    private long replayedSequence;
+    // Set when the stored tasks, the binary store or its archive could not be read completely, so that
+    // nothing is saved in their place
+    private boolean storeDamaged;
 
     public DataController() {
+        this(true);
+    }
+
+    /**
+     * @param prettyPrinting Whether saved files are indented for reading by hand. Turning it off
+     *                       produces smaller files that are faster to write and parse.
+     */
+    public DataController(boolean prettyPrinting) {
+        this(prettyPrinting, StorageFormat.JSON);
+    }
+
+    /**
+     * @param prettyPrinting Whether JSON files are indented for reading by hand.
+     * @param format         The format snapshots are saved in.
+     */
+    public DataController(boolean prettyPrinting, StorageFormat format) {
+        Map<String, Object> config = prettyPrinting
+                ? Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true)
+                : Collections.emptyMap();
+        this.generatorFactory = Json.createGeneratorFactory(config);
+        this.format = format;
         ensureDirectoryExists();
     }
 
@@ -27,98 +99,740 @@ public class DataController {
         }
     }
 
-    public void saveTasksAndReminders(List<Task> tasks) {
-        JsonArrayBuilder tasksArrayBuilder = Json.createArrayBuilder();
-        for (Task task : tasks) {
-            JsonObjectBuilder taskObject = Json.createObjectBuilder()
-                    .add("id", task.getId())
-                    .add("title", task.getTitle())
-                    .add("description", task.getDescription())
-                    .add("category", task.getCategory().getName())
-                    .add("priority", task.getPriority().getName())
-                    .add("deadline", task.getDeadline().toString())
-                    .add("status", task.getStatus().name());
+    public boolean saveTasksAndReminders(Collection<Task> tasks) {
+        return writeTasks(StoreSnapshot.entries(tasks), 0);
+    }
 
-            JsonArrayBuilder remindersArrayBuilder = Json.createArrayBuilder();
-            for (Reminder reminder : task.getReminders()) {
-                remindersArrayBuilder.add(Json.createObjectBuilder()
-                        .add("type", reminder.getType().name())
-                        .add("date", reminder.getReminderDate().toString()));
+    /**
+     * Writes a snapshot taken with {@link StoreSnapshot#capture} in the configured format. Safe to
+     * call off the controllers' thread, since the snapshot only shares frozen records with them.
+     *
+     * @return The number of bytes written, or -1 if a file could not be written or the binary store
+     * could not be loaded.
+     */
+    public long saveSnapshot(StoreSnapshot snapshot) {
+        if (refuseDamagedStore()) {
+            return -1;
+        }
+        if (format == StorageFormat.JSON) {
+            return exportJson(snapshot);
+        }
+        boolean saved = writeFile(STORE_FILE, out -> BinaryStore.write(snapshot, out));
+        try {
+            return saved ? Files.size(Paths.get(STORE_FILE)) : -1;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Writes a snapshot like {@link #saveSnapshot}, and in the mapped format also moves the completed
+     * tasks of the snapshot into a new archive file, merged with the tasks still in the current one.
+     * Since that rewrites the whole archive, it is only done once enough tasks would be added to or
+     * dropped from it. The new archive is written before the store that refers to it, so a crash in
+     * between leaves the old pair intact. Must be called on the controllers' thread, since it reads
+     * the current archive.
+     *
+     * @return The number of bytes written, or -1 if a file could not be written.
+     */
+    public long archiveCompleted(StoreSnapshot snapshot) {
+        if (refuseDamagedStore()) {
+            return -1;
+        }
+        TaskArchive.State previous = snapshot.getArchive();
+        List<StoreSnapshot.TaskEntry> completed = new ArrayList<>();
+        List<StoreSnapshot.TaskEntry> kept = new ArrayList<>();
+        for (StoreSnapshot.TaskEntry task : snapshot.getTasks()) {
+            (task.status == TaskStatus.COMPLETED ? completed : kept).add(task);
+        }
+        int archived = previous == null ? 0 : previous.archive.offsets.length;
+        int changes = completed.size() + (previous == null ? 0 : previous.withdrawn.cardinality());
+        if (format != StorageFormat.MAPPED || changes < Math.max(MIN_ARCHIVE_CHANGES, archived / 8)) {
+            return saveSnapshot(snapshot);
+        }
+
+        completed.sort(Comparator.comparing(task -> task.id));
+        List<String> categoryNames = BinaryStore.extendDictionary(
+                previous == null ? List.of() : previous.categoryNames, completed, task -> task.category);
+        List<String> priorityNames = BinaryStore.extendDictionary(
+                previous == null ? List.of() : previous.priorityNames, completed, task -> task.priority);
+        String file = String.format(ARCHIVE_FILE_FORMAT, previous == null ? 1 : archiveNumber(previous.file) + 1);
+        Path archivePath = Paths.get(DIRECTORY, file);
+        if (!writeFile(archivePath.toString(),
+                out -> BinaryStore.writeArchive(previous, completed, categoryNames, priorityNames, out))) {
+            return saveSnapshot(snapshot);
+        }
+
+        TaskArchive.State next = new TaskArchive.State(file, categoryNames, priorityNames, null, null);
+        long bytesWritten = saveSnapshot(snapshot.with(kept, next));
+        if (bytesWritten < 0) {
+            return -1;
+        }
+        if (previous != null) {
+            deleteArchive(Paths.get(DIRECTORY, previous.file));
+        }
+        try {
+            return bytesWritten + Files.size(archivePath);
+        } catch (IOException e) {
+            return bytesWritten;
+        }
+    }
+
+    /**
+     * Opens the archive the binary store refers to, in the mapped format, and then deletes archive
+     * files left behind by earlier runs. They are only deleted once the store and its archive were
+     * read, since a store that cannot be read may refer to any of them. Archived tasks refer to the
+     * given categories and priorities by name; tasks whose category is missing are treated as deleted
+     * and tasks whose priority is missing get the default priority.
+     *
+     * @return The archive, or {@code null} if there is none or it cannot be read, in which case no
+     * snapshot is saved during this run.
+     */
+    public TaskArchive openArchive(List<Category> categories, List<Priority> priorities) {
+        if (format != StorageFormat.MAPPED || storeDamaged || !Files.exists(Paths.get(STORE_FILE))) {
+            return null;
+        }
+        try {
+            ByteBuffer store = BinaryStore.open(Paths.get(STORE_FILE));
+            BinaryStore.readNames(store);
+            BinaryStore.readNames(store);
+            BinaryStore.readOffsets(store);
+            BinaryStore.ArchiveSection section = BinaryStore.readArchiveSection(store);
+            if (section == null) {
+                deleteArchivesExcept(null);
+                return null;
+            }
+
+            ByteBuffer buffer = BinaryStore.open(Paths.get(DIRECTORY, section.file));
+            if (BinaryStore.readNames(buffer).size() != section.categoryNames.size()
+                    || BinaryStore.readNames(buffer).size() != section.priorityNames.size()) {
+                throw new IOException(section.file + " does not match " + STORE_FILE);
+            }
+            int[] offsets = BinaryStore.readOffsets(buffer);
+            LoadIndex index = new LoadIndex(categories, priorities);
+            Category[] archiveCategories = new Category[section.categoryNames.size()];
+            for (int i = 0; i < archiveCategories.length; i++) {
+                // A stand-in is never among the live categories, so its tasks are dropped on replay
+                String name = section.categoryNames.get(i);
+                archiveCategories[i] = index.categoriesByName.getOrDefault(name, new Category(name));
+            }
+            Priority fallback = defaultPriority(priorities);
+            Priority[] archivePriorities = new Priority[section.priorityNames.size()];
+            for (int i = 0; i < archivePriorities.length; i++) {
+                archivePriorities[i] = index.prioritiesByName.getOrDefault(section.priorityNames.get(i), fallback);
+            }
+
+            TaskArchive archive = new TaskArchive(section.file, buffer, offsets, archiveCategories, archivePriorities);
+            section.withdrawnIds.forEach(archive::withdraw);
+            deleteArchivesExcept(section.file);
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error opening the task archive: " + e.getMessage());
+            // Saving without the archive would drop its tasks from the store
+            storeDamaged = true;
+            return null;
+        }
+    }
+
+    private static void deleteArchivesExcept(String keptFile) throws IOException {
+        try (DirectoryStream<Path> archives = Files.newDirectoryStream(Paths.get(DIRECTORY), ARCHIVE_FILE_GLOB)) {
+            for (Path path : archives) {
+                if (!path.getFileName().toString().equals(keptFile)) {
+                    deleteArchive(path);
+                }
             }
+        }
+    }
+
+    private static Priority defaultPriority(List<Priority> priorities) {
+        return priorities.stream().filter(Priority::isDefault).findFirst().orElseGet(() -> new Priority("Default"));
+    }
+
+    private static int archiveNumber(String file) {
+        String digits = file.replaceAll("\\D", "");
+        return digits.isEmpty() ? 0 : Integer.parseInt(digits);
+    }
 
-            taskObject.add("reminders", remindersArrayBuilder);
-            tasksArrayBuilder.add(taskObject);
+    private static void deleteArchive(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Still mapped on some platforms; it is deleted on the next start
         }
-        JsonObject root = Json.createObjectBuilder().add("tasks", tasksArrayBuilder).build();
-        saveJsonToFile(TASKS_FILE, root);
+    }
+
+    /**
+     * Writes a snapshot to the three JSON files, whatever the configured format, for exchanging the
+     * data with other tools. Archived tasks are not part of a snapshot and are not exported.
+     *
+     * @return The number of bytes written, or -1 if a file could not be written.
+     */
+    public long exportJson(StoreSnapshot snapshot) {
+        boolean saved = writeNames(CATEGORIES_FILE, "categories", snapshot.getCategoryNames(),
+                snapshot.getJournalSequence());
+        saved &= writeNames(PRIORITIES_FILE, "priorities", snapshot.getPriorityNames(), snapshot.getJournalSequence());
+        saved &= writeTasks(snapshot.getTasks(), snapshot.getJournalSequence());
+        if (!saved) {
+            return -1;
+        }
+        try {
+            return Files.size(Paths.get(CATEGORIES_FILE)) + Files.size(Paths.get(PRIORITIES_FILE))
+                    + Files.size(Paths.get(TASKS_FILE));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private boolean writeTasks(List<StoreSnapshot.TaskEntry> tasks, long journalSequence) {
+        return writeJsonFile(TASKS_FILE, generator -> {
+            generator.writeStartObject().write("journalSequence", journalSequence).writeStartArray("tasks");
+            for (StoreSnapshot.TaskEntry task : tasks) {
+                generator.writeStartObject()
+                        .write("id", task.id)
+                        .write("title", task.title)
+                        .write("description", task.description)
+                        .write("category", task.category)
+                        .write("priority", task.priority)
+                        .write("deadline", task.deadline.toString())
+                        .write("status", task.status.name());
+
+                generator.writeStartArray("reminders");
+                for (StoreSnapshot.ReminderEntry reminder : task.reminders) {
+                    generator.writeStartObject()
+                            .write("id", reminder.id)
+                            .write("type", reminder.type.name())
+                            .write("date", reminder.date.toString())
+                            .writeEnd();
+                }
+                generator.writeEnd().writeEnd();
+            }
+            generator.writeEnd().writeEnd();
+        });
     }
 
     public void loadTasksAndReminders(List<Category> categories, List<Priority> priorities,
                                       List<Task> tasks, List<Reminder> reminders) {
         tasks.clear();
         reminders.clear();
+        tasksSequence = 0;
 
+        if (isBinaryStoreAvailable()) {
+            loadBinaryTasks(categories, priorities, tasks, reminders);
+            return;
+        }
         if (!Files.exists(Paths.get(TASKS_FILE))) {
             return;
         }
 
-        try (JsonReader reader = Json.createReader(new FileInputStream(TASKS_FILE))) {
-            JsonObject jsonObject = reader.readObject();
-            JsonArray tasksArray = jsonObject.getJsonArray("tasks");
-            for (JsonObject taskObject : tasksArray.getValuesAs(JsonObject.class)) {
-                String title = taskObject.getString("title");
-                String description = taskObject.getString("description");
-                String categoryName = taskObject.getString("category");
-                String priorityName = taskObject.getString("priority");
-                LocalDate deadline = LocalDate.parse(taskObject.getString("deadline"));
-                TaskStatus status = TaskStatus.valueOf(taskObject.getString("status"));
-
-                Category category = categories.stream()
-                        .filter(c -> c.getName().equals(categoryName))
-                        .findFirst()
-                        .orElse(null);
-                Priority priority = priorities.stream()
-                        .filter(p -> p.getName().equals(priorityName))
-                        .findFirst()
-                        .orElse(null);
-
-                Task task = new Task(title, description, category, priority, deadline, true);
-                task.setStatus(status);
-
-                JsonArray remindersArray = taskObject.getJsonArray("reminders");
-                for (JsonObject reminderObject : remindersArray.getValuesAs(JsonObject.class)) {
-                    ReminderType type = ReminderType.valueOf(reminderObject.getString("type"));
-                    LocalDate reminderDate = LocalDate.parse(reminderObject.getString("date"));
-                    if (reminderDate.isBefore(LocalDate.now())) {
-                        continue;
+        // Tasks are built one at a time straight from the parser events, so only the task
+        // currently being read is held besides the objects already handed to the caller.
+        try (InputStream is = new BufferedInputStream(new FileInputStream(TASKS_FILE), READ_BUFFER_SIZE);
+             JsonParser parser = Json.createParser(is)) {
+            if (!advanceToArray(parser, "tasks")) {
+                return;
+            }
+            LoadIndex index = new LoadIndex(categories, priorities);
+            long heapLimit = (long) (Runtime.getRuntime().maxMemory() * MAX_LOAD_HEAP_SHARE);
+            while (parser.hasNext()) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.END_ARRAY) {
+                    break;
+                }
+                if (event == JsonParser.Event.START_OBJECT) {
+                    readTask(parser, index, tasks, reminders);
+                    if (tasks.size() % HEAP_CHECK_INTERVAL == 0 && isHeapFull(heapLimit)) {
+                        System.err.println("Not loading " + TASKS_FILE + ": it does not fit in the heap after "
+                                + tasks.size() + " tasks; start with a larger -Xmx");
+                        // Nothing is saved in its place, since that would drop the tasks not loaded
+                        storeDamaged = true;
+                        tasks.clear();
+                        reminders.clear();
+                        return;
                     }
-                    Reminder reminder = new Reminder(type, task, reminderDate);
-                    reminders.add(reminder);
                 }
-                tasks.add(task);
             }
         } catch (IOException e) {
             System.err.println("Error loading tasks: " + e.getMessage());
         }
     }
 
-    public void saveCategories(List<Category> categories) {
-        JsonArrayBuilder categoriesArrayBuilder = Json.createArrayBuilder();
-        for (Category category : categories) {
-            categoriesArrayBuilder.add(Json.createObjectBuilder()
-                    .add("name", category.getName()));
+    /**
+     * @return Whether the heap in use is over the limit even after collecting garbage, which is only
+     * done once the limit is reached, so loads that fit the heap are not slowed down.
+     */
+    private static boolean isHeapFull(long limit) {
+        Runtime runtime = Runtime.getRuntime();
+        if (runtime.totalMemory() - runtime.freeMemory() < limit) {
+            return false;
+        }
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory() >= limit;
+    }
+
+    private boolean isBinaryStoreAvailable() {
+        return format != StorageFormat.JSON && Files.exists(Paths.get(STORE_FILE));
+    }
+
+    private List<String> loadBinaryNames(boolean priorities) {
+        try {
+            ByteBuffer buffer = BinaryStore.open(Paths.get(STORE_FILE));
+            if (priorities) {
+                prioritiesSequence = BinaryStore.journalSequence(buffer);
+            } else {
+                categoriesSequence = BinaryStore.journalSequence(buffer);
+            }
+            List<String> categoryNames = BinaryStore.readNames(buffer);
+            return priorities ? BinaryStore.readNames(buffer) : categoryNames;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading " + STORE_FILE + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads the tasks of the binary store, all or none. A store that cannot be read completely is
+     * moved aside rather than loaded in part, and no snapshot is saved during this run, so that the
+     * damaged file and the journal recorded on top of it are kept for recovery. Unlike JSON files,
+     * which may be edited by hand, the store is only written from the controllers, which keep ids
+     * unique, so its ids are not checked for clashes again.
+     */
+    private void loadBinaryTasks(List<Category> categories, List<Priority> priorities,
+                                 List<Task> tasks, List<Reminder> reminders) {
+        List<Task> loadedTasks = new ArrayList<>();
+        List<Reminder> loadedReminders = new ArrayList<>();
+        try {
+            ByteBuffer buffer = BinaryStore.open(Paths.get(STORE_FILE));
+            LoadIndex index = new LoadIndex(categories, priorities);
+            List<Category> categoriesByIndex = new ArrayList<>();
+            for (String name : BinaryStore.readNames(buffer)) {
+                categoriesByIndex.add(resolve(index.categoriesByName, name, "category"));
+            }
+            List<Priority> prioritiesByIndex = new ArrayList<>();
+            for (String name : BinaryStore.readNames(buffer)) {
+                prioritiesByIndex.add(resolve(index.prioritiesByName, name, "priority"));
+            }
+            LocalDate today = LocalDate.now();
+
+            BinaryStore.readTasks(buffer, new BinaryStore.TaskVisitor() {
+                private Task task;
+
+                @Override
+                public void task(String id, String title, String description, int categoryIndex, int priorityIndex,
+                                 LocalDate deadline, TaskStatus status) {
+                    task = new Task(id, title, description, categoriesByIndex.get(categoryIndex),
+                            prioritiesByIndex.get(priorityIndex), deadline, true);
+                    task.setStatus(status);
+                }
+
+                @Override
+                public void reminder(String id, ReminderType type, LocalDate date) {
+                    if (!date.isBefore(today)) {
+                        loadedReminders.add(new Reminder(id, type, task, date));
+                    }
+                }
+
+                @Override
+                public void endTask() {
+                    loadedTasks.add(task);
+                }
+            });
+            tasksSequence = BinaryStore.journalSequence(buffer);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading " + STORE_FILE + ": " + e.getMessage());
+            moveDamagedStore();
+            return;
+        }
+        tasks.addAll(loadedTasks);
+        reminders.addAll(loadedReminders);
+    }
+
+    private static <T> T resolve(Map<String, T> byName, String name, String kind) throws IOException {
+        T item = byName.get(name);
+        if (item == null) {
+            throw new IOException("Unknown " + kind + " " + name + " in the store's dictionary");
+        }
+        return item;
+    }
+
+    private void moveDamagedStore() {
+        storeDamaged = true;
+        Path damaged = Paths.get(DAMAGED_STORE_FILE);
+        for (int copy = 1; Files.exists(damaged); copy++) {
+            damaged = Paths.get(DAMAGED_STORE_FILE + "." + copy);
+        }
+        try {
+            Files.move(Paths.get(STORE_FILE), damaged);
+            System.err.println("Moved " + STORE_FILE + " to " + damaged + "; changes are only kept in the journal");
+        } catch (IOException e) {
+            System.err.println("Error moving " + STORE_FILE + " aside: " + e.getMessage());
+        }
+    }
+
+    private boolean refuseDamagedStore() {
+        if (storeDamaged) {
+            System.err.println("Not saving, since the stored tasks could not be read completely");
         }
-        JsonObject root = Json.createObjectBuilder().add("categories", categoriesArrayBuilder).build();
-        saveJsonToFile(CATEGORIES_FILE, root);
+        return storeDamaged;
+    }
+
+    private boolean advanceToArray(JsonParser parser, String arrayName) {
+        if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT) {
+            return false;
+        }
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.END_OBJECT) {
+                return false;
+            }
+            if (event != JsonParser.Event.KEY_NAME) {
+                continue;
+            }
+            String key = parser.getString();
+            JsonParser.Event value = parser.next();
+            if (arrayName.equals(key) && value == JsonParser.Event.START_ARRAY) {
+                return true;
+            }
+            if ("journalSequence".equals(key) && value == JsonParser.Event.VALUE_NUMBER) {
+                tasksSequence = parser.getLong();
+            }
+            skipValue(parser, value);
+        }
+        return false;
+    }
+
+    private void readTask(JsonParser parser, LoadIndex index, List<Task> tasks, List<Reminder> reminders) {
+        String id = null;
+        String title = null;
+        String description = null;
+        String categoryName = null;
+        String priorityName = null;
+        String deadline = null;
+        String status = null;
+        List<String[]> reminderValues = new ArrayList<>();
+
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.END_OBJECT) {
+                break;
+            }
+            String key = parser.getString();
+            JsonParser.Event value = parser.next();
+            switch (key) {
+                case "id" -> id = parser.getString();
+                case "title" -> title = parser.getString();
+                case "description" -> description = parser.getString();
+                case "category" -> categoryName = parser.getString();
+                case "priority" -> priorityName = parser.getString();
+                case "deadline" -> deadline = parser.getString();
+                case "status" -> status = parser.getString();
+                case "reminders" -> readReminders(parser, reminderValues);
+                default -> skipValue(parser, value);
+            }
+        }
+
+        Category category = index.categoriesByName.get(categoryName);
+        Priority priority = index.prioritiesByName.get(priorityName);
+
+        Task task = new Task(index.uniqueId(id), title, description, category, priority, index.date(deadline), true);
+        task.setStatus(TaskStatus.valueOf(status));
+
+        for (String[] reminderValue : reminderValues) {
+            ReminderType type = ReminderType.valueOf(reminderValue[1]);
+            LocalDate reminderDate = index.date(reminderValue[2]);
+            if (reminderDate.isBefore(LocalDate.now())) {
+                continue;
+            }
+            Reminder reminder = new Reminder(index.uniqueId(reminderValue[0]), type, task, reminderDate);
+            reminders.add(reminder);
+        }
+        tasks.add(task);
+    }
+
+    /**
+     * Lookup tables built once per load, so resolving a task's references costs the same no matter
+     * how many categories and priorities exist. Dates are shared as well, since large stores repeat
+     * the same deadlines across many tasks. Stored ids are checked for clashes, which hand-edited or
+     * older files may contain.
+     */
+    private static class LoadIndex {
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+        private final Map<String, Priority> prioritiesByName = new HashMap<>();
+        private final Map<String, LocalDate> datesByText = new HashMap<>();
+        private final Set<String> ids = new HashSet<>();
+
+        LoadIndex(List<Category> categories, List<Priority> priorities) {
+            for (Category category : categories) {
+                categoriesByName.putIfAbsent(category.getName(), category);
+            }
+            for (Priority priority : priorities) {
+                prioritiesByName.putIfAbsent(priority.getName(), priority);
+            }
+        }
+
+        LocalDate date(String text) {
+            return text == null ? null : datesByText.computeIfAbsent(text, LocalDate::parse);
+        }
+
+        /**
+         * @return The stored id, or {@code null} so that a new one is generated when it is missing
+         * or already taken by an earlier entry.
+         */
+        String uniqueId(String id) {
+            return id != null && !id.isEmpty() && ids.add(id) ? id : null;
+        }
+    }
+
+    private void readReminders(JsonParser parser, List<String[]> reminderValues) {
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.END_ARRAY) {
+                break;
+            }
+            if (event != JsonParser.Event.START_OBJECT) {
+                continue;
+            }
+            String id = null;
+            String type = null;
+            String date = null;
+            while (parser.hasNext()) {
+                JsonParser.Event field = parser.next();
+                if (field == JsonParser.Event.END_OBJECT) {
+                    break;
+                }
+                String key = parser.getString();
+                JsonParser.Event value = parser.next();
+                switch (key) {
+                    case "id" -> id = parser.getString();
+                    case "type" -> type = parser.getString();
+                    case "date" -> date = parser.getString();
+                    default -> skipValue(parser, value);
+                }
+            }
+            reminderValues.add(new String[]{id, type, date});
+        }
+    }
+
+    private void skipValue(JsonParser parser, JsonParser.Event value) {
+        if (value == JsonParser.Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (value == JsonParser.Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+
+    /**
+     * Opens the journal that records changes between full saves.
+     *
+     * @return The journal, or {@code null} if it cannot be opened, in which case changes are only
+     * saved on exit.
+     */
+    public Journal openJournal() {
+        try {
+            long lastSequence = Math.max(Math.max(categoriesSequence, prioritiesSequence),
+                    Math.max(tasksSequence, replayedSequence));
+            return new Journal(Paths.get(DIRECTORY), lastSequence);
+        } catch (IOException e) {
+            System.err.println("Error opening journal: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Applies the changes recorded in the journal to freshly loaded data, bringing it up to the
+     * state it had when the application last ran. Each saved file records the sequence number of the
+     * last change it holds, and only the records after it are applied, so segments left behind by a
+     * save that was interrupted before deleting them are not applied twice. Must be called after the
+     * data was loaded with this controller.
+     */
+    public void replayJournal(List<Category> categories, List<Priority> priorities,
+                              List<Task> tasks, List<Reminder> reminders) {
+        replayJournal(categories, priorities, tasks, reminders, null);
+    }
+
+    /**
+     * Replays the journal like {@link #replayJournal(List, List, List, List)}, also withdrawing
+     * deleted tasks from the archive and dropping archived tasks whose category was deleted.
+     *
+     * @param archive The archive opened with {@link #openArchive}, or {@code null} if there is none.
+     */
+    public void replayJournal(List<Category> categories, List<Priority> priorities,
+                              List<Task> tasks, List<Reminder> reminders, TaskArchive archive) {
+        replayRecords(categories, priorities, tasks, reminders, archive);
+        if (archive != null) {
+            archive.retain(categories, priorities, defaultPriority(priorities));
+        }
+    }
+
+    private void replayRecords(List<Category> categories, List<Priority> priorities,
+                               List<Task> tasks, List<Reminder> reminders, TaskArchive archive) {
+        // Indexing what was loaded takes about as long as loading it, so it waits for a record to apply
+        ReplayIndex[] indexes = new ReplayIndex[1];
+        long firstSequence = Math.min(Math.min(categoriesSequence, prioritiesSequence), tasksSequence);
+        try {
+            Journal.read(Paths.get(DIRECTORY), firstSequence, (sequence, record) -> {
+                replayedSequence = sequence;
+                byte type = record.readByte();
+                if (sequence <= loadedSequence(type)) {
+                    // The file holding this kind of data was saved after the change
+                    return;
+                }
+                if (indexes[0] == null) {
+                    indexes[0] = new ReplayIndex(categories, priorities, tasks, reminders);
+                }
+                Map<String, Category> categoriesByName = indexes[0].categoriesByName;
+                Map<String, Priority> prioritiesByName = indexes[0].prioritiesByName;
+                Map<String, Task> tasksById = indexes[0].tasksById;
+                Map<String, Reminder> remindersById = indexes[0].remindersById;
+                Map<String, Set<String>> reminderIdsByTask = indexes[0].reminderIdsByTask;
+                switch (type) {
+                    case Journal.CATEGORY_ADDED -> categoriesByName.computeIfAbsent(Journal.readString(record), Category::new);
+                    case Journal.CATEGORY_RENAMED ->
+                            rename(categoriesByName, Journal.readString(record), Journal.readString(record), Category::setName);
+                    case Journal.CATEGORY_REMOVED -> categoriesByName.remove(Journal.readString(record));
+                    case Journal.PRIORITY_ADDED -> prioritiesByName.computeIfAbsent(Journal.readString(record), Priority::new);
+                    case Journal.PRIORITY_RENAMED ->
+                            rename(prioritiesByName, Journal.readString(record), Journal.readString(record), Priority::setName);
+                    case Journal.PRIORITY_REMOVED -> prioritiesByName.remove(Journal.readString(record));
+                    case Journal.TASK_PUT -> {
+                        String id = Journal.readString(record);
+                        String title = Journal.readString(record);
+                        String description = Journal.readString(record);
+                        // A category the task names existed when the record was written
+                        Category category = categoriesByName.computeIfAbsent(Journal.readString(record), Category::new);
+                        Priority priority = prioritiesByName.get(Journal.readString(record));
+                        LocalDate deadline = LocalDate.ofEpochDay(record.readLong());
+                        TaskStatus status = TaskStatus.valueOf(Journal.readString(record));
+
+                        Task task = new Task(id, title, description, category, priority, deadline, true);
+                        task.setStatus(status);
+                        tasksById.put(id, task);
+                        // Reminders point at the task object they were made for, so they follow the new one
+                        for (String reminderId : new ArrayList<>(reminderIdsByTask.getOrDefault(id, Set.of()))) {
+                            Reminder reminder = removeReminder(remindersById, reminderIdsByTask, reminderId);
+                            try {
+                                putReminder(remindersById, reminderIdsByTask,
+                                        new Reminder(reminderId, reminder.getType(), task, reminder.getReminderDate()));
+                            } catch (IllegalArgumentException ignored) {
+                                // The reminder no longer fits the task
+                            }
+                        }
+                    }
+                    case Journal.TASK_REMOVED -> {
+                        String id = Journal.readString(record);
+                        tasksById.remove(id);
+                        if (archive != null) {
+                            archive.withdraw(id);
+                        }
+                        for (String reminderId : new ArrayList<>(reminderIdsByTask.getOrDefault(id, Set.of()))) {
+                            removeReminder(remindersById, reminderIdsByTask, reminderId);
+                        }
+                    }
+                    case Journal.REMINDER_PUT -> {
+                        String id = Journal.readString(record);
+                        Task task = tasksById.get(Journal.readString(record));
+                        ReminderType reminderType = ReminderType.valueOf(Journal.readString(record));
+                        LocalDate date = LocalDate.ofEpochDay(record.readLong());
+                        removeReminder(remindersById, reminderIdsByTask, id);
+                        if (task != null) {
+                            try {
+                                putReminder(remindersById, reminderIdsByTask, new Reminder(id, reminderType, task, date));
+                            } catch (IllegalArgumentException ignored) {
+                                // The reminder has passed since it was recorded
+                            }
+                        }
+                    }
+                    case Journal.REMINDER_REMOVED -> removeReminder(remindersById, reminderIdsByTask, Journal.readString(record));
+                    default -> throw new IOException("Unknown journal record type " + type);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error replaying journal: " + e.getMessage());
+        }
+        ReplayIndex index = indexes[0];
+        if (index == null) {
+            return;
+        }
+
+        categories.clear();
+        categories.addAll(index.categoriesByName.values());
+        priorities.clear();
+        priorities.addAll(index.prioritiesByName.values());
+        tasks.clear();
+        tasks.addAll(index.tasksById.values());
+        reminders.clear();
+        reminders.addAll(index.remindersById.values());
+    }
+
+    /**
+     * The loaded data by name and id, which journal records refer to, in the order it was loaded.
+     */
+    private static class ReplayIndex {
+        private final Map<String, Category> categoriesByName = new LinkedHashMap<>();
+        private final Map<String, Priority> prioritiesByName = new LinkedHashMap<>();
+        private final Map<String, Task> tasksById = new LinkedHashMap<>();
+        private final Map<String, Reminder> remindersById = new LinkedHashMap<>();
+        private final Map<String, Set<String>> reminderIdsByTask = new HashMap<>();
+
+        ReplayIndex(List<Category> categories, List<Priority> priorities, List<Task> tasks, List<Reminder> reminders) {
+            categories.forEach(category -> categoriesByName.putIfAbsent(category.getName(), category));
+            priorities.forEach(priority -> prioritiesByName.putIfAbsent(priority.getName(), priority));
+            tasks.forEach(task -> tasksById.put(task.getId(), task));
+            reminders.forEach(reminder -> putReminder(remindersById, reminderIdsByTask, reminder));
+        }
+    }
+
+    private long loadedSequence(byte type) {
+        return switch (type) {
+            case Journal.CATEGORY_ADDED, Journal.CATEGORY_RENAMED, Journal.CATEGORY_REMOVED -> categoriesSequence;
+            case Journal.PRIORITY_ADDED, Journal.PRIORITY_RENAMED, Journal.PRIORITY_REMOVED -> prioritiesSequence;
+            default -> tasksSequence;
+        };
+    }
+
+    private static <T> void rename(Map<String, T> byName, String oldName, String newName, BiConsumer<T, String> setName) {
+        T item = byName.get(oldName);
+        if (item != null && !byName.containsKey(newName)) {
+            byName.remove(oldName);
+            setName.accept(item, newName);
+            byName.put(newName, item);
+        }
+    }
+
+    private static void putReminder(Map<String, Reminder> remindersById, Map<String, Set<String>> reminderIdsByTask,
+                                    Reminder reminder) {
+        remindersById.put(reminder.getId(), reminder);
+        reminderIdsByTask.computeIfAbsent(reminder.getTask().getId(), id -> new HashSet<>()).add(reminder.getId());
+    }
+
+    private static Reminder removeReminder(Map<String, Reminder> remindersById, Map<String, Set<String>> reminderIdsByTask,
+                                           String reminderId) {
+        Reminder reminder = remindersById.remove(reminderId);
+        if (reminder != null) {
+            Set<String> ids = reminderIdsByTask.get(reminder.getTask().getId());
+            if (ids != null && ids.remove(reminderId) && ids.isEmpty()) {
+                reminderIdsByTask.remove(reminder.getTask().getId());
+            }
+        }
+        return reminder;
+    }
+
+    public boolean saveCategories(List<Category> categories) {
+        return writeNames(CATEGORIES_FILE, "categories", categories.stream().map(Category::getName).toList(), 0);
     }
 
     public List<Category> loadCategories() {
         List<Category> categories = new ArrayList<>();
+        categoriesSequence = 0;
+        if (isBinaryStoreAvailable()) {
+            loadBinaryNames(false).forEach(name -> categories.add(new Category(name)));
+            return categories;
+        }
         if (!Files.exists(Paths.get(CATEGORIES_FILE))) {
             return categories;
         }
         try (JsonReader reader = Json.createReader(new FileInputStream(CATEGORIES_FILE))) {
             JsonObject jsonObject = reader.readObject();
+            categoriesSequence = journalSequence(jsonObject);
             JsonArray categoriesArray = jsonObject.getJsonArray("categories");
             for (JsonObject categoryObject : categoriesArray.getValuesAs(JsonObject.class)) {
                 categories.add(new Category(categoryObject.getString("name")));
@@ -129,24 +843,34 @@ public class DataController {
         return categories;
     }
 
-    public void savePriorities(List<Priority> priorities) {
-        JsonArrayBuilder prioritiesArrayBuilder = Json.createArrayBuilder();
-        for (Priority priority : priorities) {
-            prioritiesArrayBuilder.add(Json.createObjectBuilder()
-                    .add("name", priority.getName()));
-        }
-        JsonObject root = Json.createObjectBuilder().add("priorities", prioritiesArrayBuilder).build();
-        saveJsonToFile(PRIORITIES_FILE, root);
+    public boolean savePriorities(List<Priority> priorities) {
+        return writeNames(PRIORITIES_FILE, "priorities", priorities.stream().map(Priority::getName).toList(), 0);
+    }
+
+    private boolean writeNames(String filePath, String arrayName, List<String> names, long journalSequence) {
+        return writeJsonFile(filePath, generator -> {
+            generator.writeStartObject().write("journalSequence", journalSequence).writeStartArray(arrayName);
+            for (String name : names) {
+                generator.writeStartObject().write("name", name).writeEnd();
+            }
+            generator.writeEnd().writeEnd();
+        });
     }
 
     public List<Priority> loadPriorities() {
         List<Priority> priorities = new ArrayList<>();
+        prioritiesSequence = 0;
+        if (isBinaryStoreAvailable()) {
+            loadBinaryNames(true).forEach(name -> priorities.add(new Priority(name)));
+            return priorities;
+        }
         if (!Files.exists(Paths.get(PRIORITIES_FILE))) {
             return priorities;
         }
 
         try (JsonReader reader = Json.createReader(new FileInputStream(PRIORITIES_FILE))) {
             JsonObject jsonObject = reader.readObject();
+            prioritiesSequence = journalSequence(jsonObject);
             JsonArray prioritiesArray = jsonObject.getJsonArray("priorities");
             for (JsonObject priorityObject : prioritiesArray.getValuesAs(JsonObject.class)) {
                 priorities.add(new Priority(priorityObject.getString("name")));
@@ -157,15 +881,68 @@ public class DataController {
         return priorities;
     }
 
-    private void saveJsonToFile(String filePath, JsonObject jsonObject) {
-        Map<String, Object> config = Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true);
-        JsonWriterFactory writerFactory = Json.createWriterFactory(config);
+    private static long journalSequence(JsonObject file) {
+        JsonNumber sequence = file.getJsonNumber("journalSequence");
+        return sequence == null ? 0 : sequence.longValue();
+    }
+
+    /**
+     * Streams a JSON document into a temporary file next to {@code filePath} and moves it over the
+     * original once it is fully written, so a crash mid-save never leaves a truncated file behind.
+     *
+     * @return Whether the file was written.
+     */
+    private boolean writeJsonFile(String filePath, Consumer<JsonGenerator> content) {
+        return writeFile(filePath, out -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+                 JsonGenerator generator = generatorFactory.createGenerator(writer)) {
+                content.accept(generator);
+                generator.flush();
+            }
+        });
+    }
+
+    private interface FileContent {
+        void write(OutputStream out) throws IOException;
+    }
 
-        try (OutputStream os = new FileOutputStream(filePath);
-             JsonWriter writer = writerFactory.createWriter(os)) {
-            writer.write(jsonObject);
-        } catch (IOException e) {
-            System.err.println("Error saving JSON to " + filePath + ": " + e.getMessage());
+    /**
+     * Writes a file into a temporary file next to {@code filePath} and moves it over the original
+     * once it is fully written, so a crash mid-save never leaves a truncated file behind.
+     *
+     * @return Whether the file was written.
+     */
+    private boolean writeFile(String filePath, FileContent content) {
+        Path target = Paths.get(filePath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                // The stream is left open by the content, so the channel can be forced once it is written
+                OutputStream out = Channels.newOutputStream(channel);
+                content.write(new FilterOutputStream(out) {
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        out.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        flush();
+                    }
+                });
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException | JsonException e) {
+            System.err.println("Error saving " + filePath + ": " + e.getMessage());
+            return false;
         }
     }
 }
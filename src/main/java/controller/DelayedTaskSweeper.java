@@ -0,0 +1,103 @@
+package controller;
+
+import model.Task;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The DelayedTaskSweeper class marks overdue tasks as delayed while the application keeps running.
+ * It wakes at every day boundary of its clock and runs the sweep of a {@link TaskController} on the
+ * given executor, which is expected to be the thread that owns the controller. The controller
+ * reports the tasks a sweep delays to its listeners as one UPDATED event.
+ */
+public class DelayedTaskSweeper {
+    private static final Duration MAX_SLEEP = Duration.ofHours(1);
+
+    private final TaskController taskController;
+    private final Clock clock;
+    private final Executor controllerExecutor;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a new DelayedTaskSweeper.
+     *
+     * @param taskController     The task controller whose tasks are swept.
+     * @param clock              The clock deciding when a day ends.
+     * @param controllerExecutor The executor that runs the sweep on the controller's thread.
+     */
+    public DelayedTaskSweeper(TaskController taskController, Clock clock, Executor controllerExecutor) {
+        if (taskController == null || clock == null || controllerExecutor == null) {
+            throw new IllegalArgumentException("Sweeper dependencies cannot be null.");
+        }
+        this.taskController = taskController;
+        this.clock = clock;
+        this.controllerExecutor = controllerExecutor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "delayed-task-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules the first wake-up at the next day boundary.
+     */
+    public void start() {
+        scheduleNextWakeUp();
+    }
+
+    /**
+     * Stops the sweeper. Sweeps already handed to the controller's executor still run.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Runs a sweep for the current day of the clock on the calling thread, which must be the
+     * thread that owns the task controller.
+     *
+     * @return The tasks whose status was changed.
+     */
+    public List<Task> sweepNow() {
+        return taskController.updateDelayedTasks(LocalDate.now(clock));
+    }
+
+    /**
+     * Computes how long to sleep until the next day boundary. The sleep is capped so that a clock
+     * adjustment or a suspended machine delays the sweep by at most {@link #MAX_SLEEP}.
+     *
+     * @return The delay until the next wake-up.
+     */
+    Duration delayUntilNextWakeUp() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime nextDay = now.toLocalDate().plusDays(1).atStartOfDay(clock.getZone());
+        Duration delay = Duration.between(now, nextDay);
+        return delay.compareTo(MAX_SLEEP) > 0 ? MAX_SLEEP : delay;
+    }
+
+    private void scheduleNextWakeUp() {
+        try {
+            scheduler.schedule(this::wakeUp, delayUntilNextWakeUp().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The sweeper was stopped
+        }
+    }
+
+    private void wakeUp() {
+        try {
+            controllerExecutor.execute(this::sweepNow);
+        } finally {
+            scheduleNextWakeUp();
+        }
+    }
+}
@@ -0,0 +1,568 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.Task;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The Journal class is an append-only log of the changes made through the controllers since the
+ * last full save. Each change is one record holding its length, a CRC32 checksum and a compact
+ * binary payload that starts with the record's sequence number. Strings are an int byte length
+ * followed by UTF-8 bytes, as in {@link BinaryStore}, so no field is too long to record.
+ * Appending only encodes the record into memory; a background thread writes the records that
+ * piled up and forces them to disk together, so a burst of edits costs one fsync. On startup
+ * {@link DataController#replayJournal} applies the records over the saved files.
+ * <p>
+ * The journal is split into numbered segment files. {@link #rotate()} starts a new segment when a
+ * snapshot is taken, and the older segments are deleted once the snapshot is safely written. A
+ * snapshot records the sequence number of the last change it holds (see {@link #lastSequence()}),
+ * so the records it already contains are skipped on replay even when their segments outlive it.
+ * <p>
+ * Recording a change never throws. If a record cannot be encoded or written, the journal is marked
+ * failed: it writes nothing more, so what is on disk stays a complete prefix of the changes, and
+ * keeps the records it could not write in memory. The next {@link #rotate()}, which a snapshot
+ * holding every change calls, writes them to a new segment and resumes.
+ */
+public class Journal implements AutoCloseable {
+    static final byte CATEGORY_ADDED = 1;
+    static final byte CATEGORY_RENAMED = 2;
+    static final byte CATEGORY_REMOVED = 3;
+    static final byte PRIORITY_ADDED = 4;
+    static final byte PRIORITY_RENAMED = 5;
+    static final byte PRIORITY_REMOVED = 6;
+    static final byte TASK_PUT = 7;
+    static final byte TASK_REMOVED = 8;
+    static final byte REMINDER_PUT = 9;
+    static final byte REMINDER_REMOVED = 10;
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private FileChannel channel;
+    private long segment;
+    private long segmentBytes;
+    private final Thread writer;
+    private final Object lock = new Object();
+    private final Object writeLock = new Object();
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    private final DataOutputStream payloadOut = new DataOutputStream(payload);
+    private final CRC32 crc = new CRC32();
+
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long lastSequence;
+    private long durableSequence;
+    private boolean failed;
+    private boolean closed;
+
+    private final Map<Category, String> categoryNames = new IdentityHashMap<>();
+    private final Map<Priority, String> priorityNames = new IdentityHashMap<>();
+
+    /**
+     * Opens the journal in the given directory for appending, continuing its newest segment or
+     * starting the first one. A record left half-written by a crash is cut off, so new records
+     * follow the last complete one.
+     *
+     * @param directory    The directory holding the journal segments.
+     * @param lastSequence The highest sequence number the saved files and the replay know of. New
+     *                     records are numbered after it, or after the newest record on disk if that
+     *                     is higher.
+     * @throws IOException if the segment cannot be opened.
+     */
+    public Journal(Path directory, long lastSequence) throws IOException {
+        this.directory = directory;
+        List<Long> segments = segments(directory);
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        Path path = segmentPath(directory, segment);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long[] newest = {lastSequence};
+        long validLength = readSegment(path, (sequence, record) -> newest[0] = Math.max(newest[0], sequence));
+        channel.truncate(validLength);
+        channel.position(validLength);
+        this.segmentBytes = validLength;
+        this.lastSequence = newest[0];
+        this.durableSequence = newest[0];
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Starts recording every change made through the given controllers. Call it once the
+     * controllers hold the loaded data, so that loading itself is not recorded.
+     */
+    public void attach(TaskController taskController, ReminderController reminderController,
+                       CategoryController categoryController, PriorityController priorityController) {
+        // Rename events carry the renamed item, so the previous names are remembered here
+        for (Category category : categoryController.getCategoriesView()) {
+            categoryNames.put(category, category.getName());
+        }
+        for (Priority priority : priorityController.getPrioritiesView()) {
+            priorityNames.put(priority, priority.getName());
+        }
+
+        categoryController.addCategoryListener(event -> {
+            for (Category category : event.getItems()) {
+                switch (event.getType()) {
+                    case ADDED -> {
+                        categoryNames.put(category, category.getName());
+                        append(CATEGORY_ADDED, out -> writeString(out, category.getName()));
+                    }
+                    case UPDATED -> {
+                        String oldName = categoryNames.put(category, category.getName());
+                        append(CATEGORY_RENAMED, out -> {
+                            writeString(out, oldName);
+                            writeString(out, category.getName());
+                        });
+                    }
+                    case REMOVED -> {
+                        String name = categoryNames.remove(category);
+                        append(CATEGORY_REMOVED, out -> writeString(out, name));
+                    }
+                }
+            }
+        });
+        priorityController.addPriorityListener(event -> {
+            for (Priority priority : event.getItems()) {
+                switch (event.getType()) {
+                    case ADDED -> {
+                        priorityNames.put(priority, priority.getName());
+                        append(PRIORITY_ADDED, out -> writeString(out, priority.getName()));
+                    }
+                    case UPDATED -> {
+                        String oldName = priorityNames.put(priority, priority.getName());
+                        append(PRIORITY_RENAMED, out -> {
+                            writeString(out, oldName);
+                            writeString(out, priority.getName());
+                        });
+                    }
+                    case REMOVED -> {
+                        String name = priorityNames.remove(priority);
+                        append(PRIORITY_REMOVED, out -> writeString(out, name));
+                    }
+                }
+            }
+        });
+        taskController.addTaskListener(event -> {
+            for (Task task : event.getItems()) {
+                if (event.getType() == ModelChangeEvent.Type.REMOVED) {
+                    append(TASK_REMOVED, out -> writeString(out, task.getId()));
+                } else {
+                    append(TASK_PUT, out -> {
+                        writeString(out, task.getId());
+                        writeString(out, task.getTitle());
+                        writeString(out, task.getDescription());
+                        writeString(out, task.getCategory().getName());
+                        writeString(out, task.getPriority().getName());
+                        out.writeLong(task.getDeadline().toEpochDay());
+                        writeString(out, task.getStatus().name());
+                    });
+                }
+            }
+        });
+        reminderController.addReminderListener(event -> {
+            for (Reminder reminder : event.getItems()) {
+                if (event.getType() == ModelChangeEvent.Type.REMOVED) {
+                    append(REMINDER_REMOVED, out -> writeString(out, reminder.getId()));
+                } else {
+                    append(REMINDER_PUT, out -> {
+                        writeString(out, reminder.getId());
+                        writeString(out, reminder.getTask().getId());
+                        writeString(out, reminder.getType().name());
+                        out.writeLong(reminder.getReminderDate().toEpochDay());
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits until every record appended so far is on disk.
+     *
+     * @return Whether they are; {@code false} if the journal failed before writing them all.
+     */
+    public boolean sync() {
+        synchronized (lock) {
+            long target = lastSequence;
+            while (durableSequence < target && !failed && writer.isAlive()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return durableSequence >= target;
+        }
+    }
+
+    /**
+     * @return Whether the journal failed to record a change and waits for a snapshot to resume.
+     */
+    public boolean isFailed() {
+        synchronized (lock) {
+            return failed;
+        }
+    }
+
+    /**
+     * Returns the sequence number of the last record appended, which a snapshot taken at the same
+     * moment stores as the last change it holds. Must be called on the controllers' thread.
+     */
+    public long lastSequence() {
+        synchronized (lock) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Closes the current segment and starts appending to a new one. Called on the controllers'
+     * thread at the moment a snapshot is taken, so that the closed segments hold only changes the
+     * snapshot contains. Records appended before the snapshot but not yet written go to the new
+     * segment, where replay skips them by their sequence number, so only a batch the writer is in
+     * the middle of is waited for. A failed journal resumes in the new segment, starting with the
+     * records it could not write.
+     *
+     * @return The number of the last closed segment, to pass to {@link #deleteSegmentsThrough}.
+     */
+    public long rotate() {
+        synchronized (lock) {
+            synchronized (writeLock) {
+                FileChannel previous = channel;
+                try {
+                    channel = FileChannel.open(segmentPath(directory, segment + 1), StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    segment++;
+                    segmentBytes = 0;
+                    failed = false;
+                    lock.notifyAll();
+                } catch (IOException e) {
+                    System.err.println("Error rotating journal in " + directory + ": " + e.getMessage());
+                    return segment - 1;
+                }
+                try {
+                    previous.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing journal segment in " + directory + ": " + e.getMessage());
+                }
+                return segment - 1;
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments up to and including the given one, once a snapshot holds their changes.
+     *
+     * @param lastSegment The number returned by {@link #rotate()} when the snapshot was taken.
+     */
+    public void deleteSegmentsThrough(long lastSegment) {
+        try {
+            for (long number : segments(directory)) {
+                if (number <= lastSegment) {
+                    Files.deleteIfExists(segmentPath(directory, number));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error deleting journal segments in " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Empties the journal, once everything it records has been saved in full.
+     */
+    public void reset() {
+        deleteSegmentsThrough(rotate());
+    }
+
+    /**
+     * @return The number of bytes written to the current segment, which a compactor can use to
+     * decide when a snapshot is due.
+     */
+    public long getSegmentBytes() {
+        synchronized (writeLock) {
+            return segmentBytes;
+        }
+    }
+
+    /**
+     * Writes out the remaining records and closes the journal file.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+            if (failed && pending.size() > 0) {
+                System.err.println("Journal in " + directory + " closed with changes it could not write");
+            }
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing journal in " + directory + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the records that follow the given sequence number from every journal segment in the
+     * directory, in order. Records at or below it, and records found again in a later segment, are
+     * skipped. Reading stops where a record is missing, since the changes after it cannot be applied
+     * without it.
+     *
+     * @param directory     The directory holding the journal segments.
+     * @param afterSequence The sequence number of the last change the saved files hold.
+     * @param handler       Called with each record that follows it.
+     * @return The sequence number of the last record read, or {@code afterSequence} if there is none.
+     * @throws IOException if a segment cannot be read or a record is missing.
+     */
+    static long read(Path directory, long afterSequence, RecordHandler handler) throws IOException {
+        long[] last = {afterSequence};
+        for (long number : segments(directory)) {
+            readSegment(segmentPath(directory, number), (sequence, record) -> {
+                if (sequence > last[0] + 1) {
+                    throw new IOException("Journal record " + (last[0] + 1) + " is missing, the records after it are ignored");
+                }
+                if (sequence == last[0] + 1) {
+                    handler.handle(sequence, record);
+                    last[0] = sequence;
+                }
+            });
+        }
+        return last[0];
+    }
+
+    /**
+     * Reads the complete records of one segment in order. Reading stops at the first record that is
+     * cut short, claims a length the rest of the file cannot hold or fails its checksum, which is
+     * where a crash interrupted the last write.
+     *
+     * @return The length of the segment up to the end of the last complete record.
+     */
+    private static long readSegment(Path path, RecordHandler handler) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long size = Files.size(path);
+        long validLength = 0;
+        try (InputStream in = Files.newInputStream(path);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in, READ_BUFFER_SIZE))) {
+            CRC32 checksum = new CRC32();
+            while (true) {
+                int length;
+                int expectedCrc;
+                byte[] record;
+                try {
+                    length = data.readInt();
+                    expectedCrc = data.readInt();
+                    if (length <= Long.BYTES || length > size - validLength - RECORD_HEADER_SIZE) {
+                        break;
+                    }
+                    record = new byte[length];
+                    data.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+                checksum.reset();
+                checksum.update(record);
+                if ((int) checksum.getValue() != expectedCrc) {
+                    break;
+                }
+                DataInputStream payload = new DataInputStream(new ByteArrayInputStream(record));
+                handler.handle(payload.readLong(), payload);
+                validLength += RECORD_HEADER_SIZE + length;
+            }
+        }
+        return validLength;
+    }
+
+    private static List<Long> segments(Path directory) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return numbers;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not a segment
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    private static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Receives one journal record: its sequence number, and its payload from the type byte on.
+     */
+    interface RecordHandler {
+        void handle(long sequence, DataInputStream record) throws IOException;
+    }
+
+    /**
+     * Reads a string written by {@link #writeString} from a record's payload.
+     *
+     * @throws IOException if the string's length exceeds what is left of the record.
+     */
+    static String readString(DataInputStream record) throws IOException {
+        int length = record.readInt();
+        if (length < 0 || length > record.available()) {
+            throw new IOException("Journal string of " + length + " bytes exceeds its record");
+        }
+        byte[] bytes = new byte[length];
+        record.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void append(byte type, PayloadWriter content) {
+        byte[] body;
+        try {
+            payload.reset();
+            payloadOut.writeByte(type);
+            content.write(payloadOut);
+            payloadOut.flush();
+            body = payload.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            // Called from the controllers' listeners, which must not fail because of the journal
+            System.err.println("Error recording change in journal in " + directory + ": " + e.getMessage());
+            synchronized (lock) {
+                // The change's sequence number is left unused, so replay stops before the changes after it
+                lastSequence++;
+                failed = true;
+            }
+            return;
+        }
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE + Long.BYTES);
+            header.putInt(Long.BYTES + body.length);
+            header.putInt(0);
+            header.putLong(++lastSequence);
+            crc.reset();
+            crc.update(header.array(), RECORD_HEADER_SIZE, Long.BYTES);
+            crc.update(body);
+            header.putInt(4, (int) crc.getValue());
+            pending.write(header.array(), 0, header.capacity());
+            pending.write(body, 0, body.length);
+            lock.notifyAll();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            ByteArrayOutputStream batch;
+            long batchSequence;
+            synchronized (lock) {
+                while ((pending.size() == 0 || failed) && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.size() == 0 || failed) {
+                    return;
+                }
+                batch = pending;
+                batchSequence = lastSequence;
+                pending = new ByteArrayOutputStream();
+            }
+            boolean written;
+            synchronized (writeLock) {
+                written = write(batch);
+            }
+            synchronized (lock) {
+                if (written) {
+                    durableSequence = batchSequence;
+                } else {
+                    // Kept, ahead of the records appended meanwhile, for the segment the next rotation starts
+                    batch.writeBytes(pending.toByteArray());
+                    pending = batch;
+                    failed = true;
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of records to the current segment and forces it to disk. On failure the part of
+     * the batch that reached the segment is cut off again, so the segment ends with the last record
+     * known to be on disk.
+     *
+     * @return Whether the batch was written.
+     */
+    private boolean write(ByteArrayOutputStream batch) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            segmentBytes += batch.size();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing journal in " + directory + ": " + e.getMessage());
+            try {
+                channel.truncate(segmentBytes);
+                channel.position(segmentBytes);
+            } catch (IOException truncateError) {
+                // Reading stops at a cut-off record, and records that did reach the disk are skipped
+                // when they are found again in the next segment
+                System.err.println("Error rolling back journal in " + directory + ": " + truncateError.getMessage());
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package controller;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes a change made through one of the controllers: which items were added, removed or
+ * updated. Updated items are the same instances as before, already carrying their new state.
+ *
+ * @param <T> The type of the changed items.
+ */
+public class ModelChangeEvent<T> {
+    public enum Type {
+        ADDED,
+        REMOVED,
+        UPDATED
+    }
+
+    private final Type type;
+    private final List<T> items;
+
+    public ModelChangeEvent(Type type, List<T> items) {
+        if (type == null || items == null) {
+            throw new IllegalArgumentException("Event type and items cannot be null.");
+        }
+        this.type = type;
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return "ModelChangeEvent{" +
+                "type=" + type +
+                ", items=" + items.size() +
+                '}';
+    }
+}
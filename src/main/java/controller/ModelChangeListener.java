@@ -0,0 +1,11 @@
+package controller;
+
+/**
+ * Receives the changes made through a controller, on the thread that made them.
+ *
+ * @param <T> The type of the changed items.
+ */
+@FunctionalInterface
+public interface ModelChangeListener<T> {
+    void onChange(ModelChangeEvent<T> event);
+}
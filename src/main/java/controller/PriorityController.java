@@ -3,19 +3,32 @@ package controller;
 import model.Priority;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class PriorityController {
     private List<Priority> priorities;
+    private final List<Priority> prioritiesView;
+    private final ChangeNotifier<Priority> notifier;
     private Priority defaultPriority;
 
     // Constructor
     public PriorityController() {
         this.priorities = new ArrayList<>();
+        this.prioritiesView = Collections.unmodifiableList(priorities);
+        this.notifier = new ChangeNotifier<>();
         this.defaultPriority = new Priority("Default");
         priorities.add(defaultPriority);
     }
 
+    public void addPriorityListener(ModelChangeListener<Priority> listener) {
+        notifier.addListener(listener);
+    }
+
+    public void removePriorityListener(ModelChangeListener<Priority> listener) {
+        notifier.removeListener(listener);
+    }
+
     public void addPriority(Priority priority) {
         if (priority == null) {
             throw new IllegalArgumentException("Priority cannot be null.");
@@ -27,6 +40,7 @@ public class PriorityController {
             throw new IllegalArgumentException("Priority name must be unique.");
         }
         priorities.add(priority);
+        notifier.fire(ModelChangeEvent.Type.ADDED, priority);
     }
 
     public void removePriority(Priority priority, TaskController taskController) {
@@ -40,11 +54,10 @@ public class PriorityController {
             throw new IllegalArgumentException("Priority does not exist in the system.");
         }
 
-        taskController.getTasks().stream()
-                .filter(task -> task.getPriority() == priority)
-                .forEach(task -> task.setPriority(defaultPriority));
+        taskController.reassignPriority(priority, defaultPriority);
 
         priorities.remove(priority);
+        notifier.fire(ModelChangeEvent.Type.REMOVED, priority);
     }
 
     public void updatePriority(Priority priority, String newName) {
@@ -61,12 +74,17 @@ public class PriorityController {
             throw new IllegalArgumentException("Priority name must be unique.");
         }
         priority.setName(newName);
+        notifier.fire(ModelChangeEvent.Type.UPDATED, priority);
     }
 
     public List<Priority> getPriorities() {
         return new ArrayList<>(priorities);
     }
 
+    public List<Priority> getPrioritiesView() {
+        return prioritiesView;
+    }
+
     public Priority getDefaultPriority() {
         return defaultPriority;
     }
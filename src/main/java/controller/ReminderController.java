@@ -6,13 +6,38 @@ import model.Task;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ReminderController {
-    private final List<Reminder> reminders;
+    private final Set<Reminder> reminders;
+    private final Collection<Reminder> remindersView;
+    private final Map<String, Set<Reminder>> remindersByTask;
+    private final Map<Reminder, ReminderRecord> records;
+    private final SnapshotList<ReminderRecord> recordList;
+    private final ChangeNotifier<Reminder> notifier;
 
     public ReminderController() {
-        this.reminders = new ArrayList<>();
+        this.reminders = new LinkedHashSet<>();
+        this.remindersView = Collections.unmodifiableSet(reminders);
+        this.remindersByTask = new HashMap<>();
+        this.records = new IdentityHashMap<>();
+        this.recordList = new SnapshotList<>();
+        this.notifier = new ChangeNotifier<>();
+    }
+
+    public void addReminderListener(ModelChangeListener<Reminder> listener) {
+        notifier.addListener(listener);
+    }
+
+    public void removeReminderListener(ModelChangeListener<Reminder> listener) {
+        notifier.removeListener(listener);
     }
 
     public void addReminder(Reminder reminder) {
@@ -22,12 +47,14 @@ public class ReminderController {
         if (reminder.getTask() == null) {
             throw new IllegalArgumentException("Reminder's task cannot be null.");
         }
-        if (!reminders.contains(reminder)) {
+        Reminder existing = reminders.contains(reminder) ? reminder : findSameValues(reminder);
+        if (existing == null) {
             reminder.getTask().addReminderToTask(reminder);
-            reminders.add(reminder);
+            index(reminder);
+            notifier.fire(ModelChangeEvent.Type.ADDED, reminder);
         } else {
-            if (!reminder.getTask().getReminders().contains(reminder)) {
-                reminder.getTask().addReminderToTask(reminder);
+            if (!reminder.getTask().getReminders().contains(existing)) {
+                reminder.getTask().addReminderToTask(existing);
                 throw new IllegalArgumentException("Reminder already exists but was missing from the task reminders list.");
             } else {
                 throw new IllegalArgumentException("Reminder already exists in the system for this task.");
@@ -51,6 +78,8 @@ public class ReminderController {
             }
             if (reminder.getType() == ReminderType.CUSTOM_DATE) {
                 reminder.setReminderDate(newReminderDate);
+                record(reminder);
+                notifier.fire(ModelChangeEvent.Type.UPDATED, reminder);
             } else {
                 removeReminder(reminder);
                 Reminder newReminder = new Reminder(newType, reminder.getTask(), newReminderDate);
@@ -58,6 +87,8 @@ public class ReminderController {
             }
         } else {
             reminder.setType(newType);
+            record(reminder);
+            notifier.fire(ModelChangeEvent.Type.UPDATED, reminder);
         }
     }
 
@@ -69,50 +100,174 @@ public class ReminderController {
             throw new IllegalArgumentException("Reminder does not exist in the list.");
         }
         reminder.getTask().removeReminderFromTask(reminder);
-        reminders.remove(reminder);
+        unindex(reminder);
+        notifier.fire(ModelChangeEvent.Type.REMOVED, reminder);
+    }
+
+    /**
+     * Removes every reminder of a task, telling listeners once for all of them.
+     *
+     * @param task The task whose reminders are removed.
+     */
+    public void removeRemindersForTask(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null.");
+        }
+        removeRemindersForTasks(List.of(task));
+    }
+
+    /**
+     * Removes every reminder of the given tasks, telling listeners once for all of them.
+     *
+     * @param tasks The tasks whose reminders are removed.
+     */
+    public void removeRemindersForTasks(Collection<Task> tasks) {
+        List<Reminder> removed = new ArrayList<>();
+        for (Task task : tasks) {
+            Set<Reminder> taskReminders = remindersByTask.get(task.getId());
+            if (taskReminders == null) {
+                continue;
+            }
+            for (Reminder reminder : new ArrayList<>(taskReminders)) {
+                task.removeReminderFromTask(reminder);
+                unindex(reminder);
+                removed.add(reminder);
+            }
+        }
+        notifier.fire(ModelChangeEvent.Type.REMOVED, removed);
+    }
+
+    /**
+     * @param task The task whose reminders are requested.
+     * @return A read-only view of the reminders managed for the task.
+     */
+    public Collection<Reminder> getRemindersForTask(Task task) {
+        Set<Reminder> taskReminders = task == null ? null : remindersByTask.get(task.getId());
+        return taskReminders == null ? Collections.emptySet() : Collections.unmodifiableSet(taskReminders);
     }
 
     public List<Reminder> getAllReminders() {
         return new ArrayList<>(reminders);
     }
 
-    public void reevaluateRemindersForTask(Task task, ReminderController reminderController) {
-        if (task == null || reminderController == null) {
+    public Collection<Reminder> getAllRemindersView() {
+        return remindersView;
+    }
+
+    /**
+     * Brings a task's reminders in line with its new deadline. Relative reminders are moved to
+     * their new date and custom reminders keep theirs; a reminder that is no longer valid is
+     * dropped. Reminders are changed in place, so only the ones whose date moved or that were
+     * dropped are reported to listeners.
+     *
+     * @param task The task whose deadline changed.
+     */
+    public void reevaluateRemindersForTask(Task task) {
+        if (task == null) {
             return;
         }
 
-        List<Reminder> updatedReminders = new ArrayList<>();
-        List<Reminder> customReminders = new ArrayList<>();
-
-        for (Reminder oldReminder : new ArrayList<>(task.getReminders())) {
-            try {
-                Reminder newReminder;
-                if (oldReminder.getType() != ReminderType.CUSTOM_DATE) {
-                    LocalDate newReminderDate = oldReminder.getTask().getDeadline().minusDays(1);
+        List<Reminder> taskReminders = new ArrayList<>(task.getReminders());
+        if (taskReminders.isEmpty()) {
+            return;
+        }
+        // Detach the reminders first, so that a reminder moving onto a date another one is about
+        // to leave is not rejected as a duplicate
+        for (Reminder reminder : taskReminders) {
+            task.removeReminderFromTask(reminder);
+        }
 
-                    if (!newReminderDate.isBefore(LocalDate.now())) {
-                        newReminder = new Reminder(oldReminder.getType(), task, null);
-                        updatedReminders.add(newReminder);
+        // Relative reminders are placed before custom ones, so they win a clash over a date
+        List<Reminder> updated = new ArrayList<>();
+        List<Reminder> removed = new ArrayList<>();
+        for (boolean custom : new boolean[]{false, true}) {
+            for (Reminder reminder : taskReminders) {
+                if ((reminder.getType() == ReminderType.CUSTOM_DATE) != custom) {
+                    continue;
+                }
+                LocalDate oldDate = reminder.getReminderDate();
+                try {
+                    if (custom) {
+                        reminder.setReminderDate(oldDate);
+                    } else {
+                        reminder.setType(reminder.getType());
+                    }
+                    task.addReminderToTask(reminder);
+                    if (!oldDate.equals(reminder.getReminderDate())) {
+                        record(reminder);
+                        updated.add(reminder);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // The reminder is invalid for the new deadline, so it is dropped
+                    if (reminders.contains(reminder)) {
+                        unindex(reminder);
+                        removed.add(reminder);
                     }
-                } else {
-                    customReminders.add(oldReminder);
                 }
-            } catch (IllegalArgumentException ignored) {
-                // If a new reminder is invalid, we do not add it
             }
         }
-        for (Reminder reminder : new ArrayList<>(task.getReminders())) {
-            reminderController.removeReminder(reminder);
+        notifier.fire(ModelChangeEvent.Type.REMOVED, removed);
+        notifier.fire(ModelChangeEvent.Type.UPDATED, updated);
+    }
+
+    /**
+     * Freezes the records of the managed reminders, in the order they were added. Must be called on
+     * the controllers' thread; the view may then be read on any thread.
+     */
+    SnapshotList.View<ReminderRecord> freezeRecords() {
+        return recordList.view();
+    }
+
+    private Reminder findSameValues(Reminder reminder) {
+        Set<Reminder> taskReminders = remindersByTask.get(reminder.getTask().getId());
+        if (taskReminders != null) {
+            for (Reminder managed : taskReminders) {
+                if (managed.hasSameValues(reminder)) {
+                    return managed;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void index(Reminder reminder) {
+        reminders.add(reminder);
+        remindersByTask.computeIfAbsent(reminder.getTask().getId(), id -> new LinkedHashSet<>()).add(reminder);
+        record(reminder);
+    }
+
+    private void unindex(Reminder reminder) {
+        reminders.remove(reminder);
+        Set<Reminder> taskReminders = remindersByTask.get(reminder.getTask().getId());
+        if (taskReminders != null && taskReminders.remove(reminder) && taskReminders.isEmpty()) {
+            remindersByTask.remove(reminder.getTask().getId());
         }
-        for (Reminder oldCustomReminder : customReminders) {
-            try {
-                Reminder newCustomReminder = new Reminder(ReminderType.CUSTOM_DATE, task, oldCustomReminder.getReminderDate());
-                updatedReminders.add(newCustomReminder);
-            } catch (IllegalArgumentException ignored) {
+        ReminderRecord record = records.remove(reminder);
+        if (record != null) {
+            recordList.remove(record.slot);
+            if (recordList.isSparse()) {
+                recordList.compact((kept, slot) -> {
+                    ReminderRecord moved = kept.movedTo(slot);
+                    records.put(moved.reminder, moved);
+                    return moved;
+                });
             }
         }
-        for (Reminder newReminder : updatedReminders) {
-            reminderController.addReminder(newReminder);
+    }
+
+    /**
+     * Replaces the record of a managed reminder with its current field values.
+     */
+    private void record(Reminder reminder) {
+        ReminderRecord old = records.get(reminder);
+        if (old == null) {
+            ReminderRecord record = new ReminderRecord(reminder, recordList.nextSlot());
+            recordList.add(record);
+            records.put(reminder, record);
+        } else {
+            ReminderRecord record = new ReminderRecord(reminder, old.slot);
+            recordList.set(record.slot, record);
+            records.put(reminder, record);
         }
     }
 
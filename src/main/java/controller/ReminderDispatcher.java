@@ -0,0 +1,209 @@
+package controller;
+
+import model.Reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The ReminderDispatcher class delivers reminders when their date arrives. Pending reminders are
+ * kept ordered by date, and the dispatcher sleeps until the start of the earliest one's day, then
+ * hands every due reminder to a sink on the given executor, which is expected to be the thread that
+ * owns the {@link ReminderController}. It follows the controller's change events, so adding,
+ * moving or removing a reminder reschedules it in logarithmic time.
+ */
+public class ReminderDispatcher implements ModelChangeListener<Reminder> {
+    private static final Duration MAX_SLEEP = Duration.ofHours(1);
+
+    private final ReminderController reminderController;
+    private final Clock clock;
+    private final Executor controllerExecutor;
+    private final Consumer<List<Reminder>> onRemindersDue;
+    private final ScheduledExecutorService scheduler;
+
+    private final NavigableMap<LocalDate, Set<Reminder>> pendingByDate;
+    private final Map<Reminder, LocalDate> scheduledDates;
+    private final Map<Reminder, LocalDate> deliveredDates;
+    private ScheduledFuture<?> nextWakeUp;
+    private LocalDate nextWakeUpFor;
+
+    /**
+     * Constructs a new ReminderDispatcher.
+     *
+     * @param reminderController The reminder controller whose reminders are delivered.
+     * @param clock              The clock deciding when a reminder is due.
+     * @param controllerExecutor The executor that runs deliveries on the controller's thread.
+     * @param onRemindersDue     Called on the controller's thread with the reminders that became due.
+     */
+    public ReminderDispatcher(ReminderController reminderController, Clock clock, Executor controllerExecutor,
+                              Consumer<List<Reminder>> onRemindersDue) {
+        if (reminderController == null || clock == null || controllerExecutor == null || onRemindersDue == null) {
+            throw new IllegalArgumentException("Dispatcher dependencies cannot be null.");
+        }
+        this.reminderController = reminderController;
+        this.clock = clock;
+        this.controllerExecutor = controllerExecutor;
+        this.onRemindersDue = onRemindersDue;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pendingByDate = new TreeMap<>();
+        this.scheduledDates = new HashMap<>();
+        this.deliveredDates = new HashMap<>();
+    }
+
+    /**
+     * Schedules every reminder of the controller and starts following its changes. Must be called
+     * on the controller's thread.
+     */
+    public void start() {
+        for (Reminder reminder : reminderController.getAllRemindersView()) {
+            schedule(reminder);
+        }
+        reminderController.addReminderListener(this);
+        scheduleNextWakeUp();
+    }
+
+    /**
+     * Stops following the controller and cancels pending wake-ups. Must be called on the
+     * controller's thread.
+     */
+    public void stop() {
+        reminderController.removeReminderListener(this);
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void onChange(ModelChangeEvent<Reminder> event) {
+        for (Reminder reminder : event.getItems()) {
+            unschedule(reminder);
+            switch (event.getType()) {
+                case ADDED -> schedule(reminder);
+                case UPDATED -> {
+                    // A reminder that was already delivered is only delivered again if its date moved
+                    if (!reminder.getReminderDate().equals(deliveredDates.get(reminder))) {
+                        deliveredDates.remove(reminder);
+                        schedule(reminder);
+                    }
+                }
+                case REMOVED -> deliveredDates.remove(reminder);
+            }
+        }
+        // Most changes leave the earliest pending date alone, so the wake-up already set still holds
+        LocalDate earliest = pendingByDate.isEmpty() ? null : pendingByDate.firstKey();
+        if (nextWakeUp == null || !Objects.equals(earliest, nextWakeUpFor)) {
+            scheduleNextWakeUp();
+        }
+    }
+
+    /**
+     * Delivers every reminder due on or before the current day of the clock, on the calling thread,
+     * which must be the thread that owns the reminder controller.
+     *
+     * @return The reminders that were delivered.
+     */
+    public List<Reminder> dispatchDue() {
+        LocalDate today = LocalDate.now(clock);
+        List<Reminder> due = new ArrayList<>();
+        Iterator<Map.Entry<LocalDate, Set<Reminder>>> buckets = pendingByDate.headMap(today, true).entrySet().iterator();
+        while (buckets.hasNext()) {
+            Map.Entry<LocalDate, Set<Reminder>> bucket = buckets.next();
+            for (Reminder reminder : bucket.getValue()) {
+                scheduledDates.remove(reminder);
+                deliveredDates.put(reminder, bucket.getKey());
+                due.add(reminder);
+            }
+            buckets.remove();
+        }
+        if (!due.isEmpty()) {
+            onRemindersDue.accept(due);
+        }
+        scheduleNextWakeUp();
+        return due;
+    }
+
+    /**
+     * @return The number of reminders waiting to be delivered.
+     */
+    public int getPendingCount() {
+        return scheduledDates.size();
+    }
+
+    /**
+     * Computes how long to sleep until the earliest pending reminder is due. The sleep is capped so
+     * that a clock adjustment or a suspended machine delays a delivery by at most {@link #MAX_SLEEP}.
+     *
+     * @return The delay until the next wake-up.
+     */
+    Duration delayUntilNextWakeUp() {
+        if (pendingByDate.isEmpty()) {
+            return MAX_SLEEP;
+        }
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime due = pendingByDate.firstKey().atStartOfDay(clock.getZone());
+        Duration delay = Duration.between(now, due);
+        if (delay.isNegative()) {
+            return Duration.ZERO;
+        }
+        return delay.compareTo(MAX_SLEEP) > 0 ? MAX_SLEEP : delay;
+    }
+
+    private void schedule(Reminder reminder) {
+        LocalDate date = reminder.getReminderDate();
+        scheduledDates.put(reminder, date);
+        pendingByDate.computeIfAbsent(date, d -> new LinkedHashSet<>()).add(reminder);
+    }
+
+    private void unschedule(Reminder reminder) {
+        // The reminder's date may already have changed, so it is looked up under the scheduled one
+        LocalDate date = scheduledDates.remove(reminder);
+        if (date == null) {
+            return;
+        }
+        Set<Reminder> bucket = pendingByDate.get(date);
+        if (bucket != null && bucket.remove(reminder) && bucket.isEmpty()) {
+            pendingByDate.remove(date);
+        }
+    }
+
+    private void scheduleNextWakeUp() {
+        if (nextWakeUp != null) {
+            nextWakeUp.cancel(false);
+        }
+        nextWakeUpFor = pendingByDate.isEmpty() ? null : pendingByDate.firstKey();
+        try {
+            nextWakeUp = scheduler.schedule(this::wakeUp, delayUntilNextWakeUp().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The dispatcher was stopped
+        }
+    }
+
+    private void wakeUp() {
+        try {
+            controllerExecutor.execute(this::dispatchDue);
+        } catch (RejectedExecutionException e) {
+            // The controller's thread is shutting down
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package controller;
+
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+
+import java.time.LocalDate;
+
+/**
+ * The ReminderRecord class holds the field values of a managed reminder as they were when it last
+ * changed. The {@link ReminderController} replaces a reminder's record whenever it changes, so a
+ * record itself never changes and may be read on any thread.
+ */
+final class ReminderRecord {
+    final Reminder reminder;
+    final Task task;
+    final int slot;
+    final String id;
+    final ReminderType type;
+    final LocalDate date;
+
+    /**
+     * Records a reminder's current field values. Must be called on the controllers' thread.
+     *
+     * @param slot Where the record is kept in the controller's record list.
+     */
+    ReminderRecord(Reminder reminder, int slot) {
+        this(reminder, slot, reminder.getType(), reminder.getReminderDate());
+    }
+
+    private ReminderRecord(Reminder reminder, int slot, ReminderType type, LocalDate date) {
+        this.reminder = reminder;
+        this.task = reminder.getTask();
+        this.slot = slot;
+        this.id = reminder.getId();
+        this.type = type;
+        this.date = date;
+    }
+
+    /**
+     * @return A copy of this record kept in another slot.
+     */
+    ReminderRecord movedTo(int newSlot) {
+        return new ReminderRecord(reminder, newSlot, type, date);
+    }
+}
@@ -0,0 +1,146 @@
+package controller;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SnapshotCompactor class folds the journal into the data files while the application runs.
+ * It checks the journal periodically and, once it has grown past a size threshold or a snapshot
+ * has not been taken for a while, captures a {@link StoreSnapshot} on the controllers' thread,
+ * rotates the journal there, and writes the snapshot on its own thread. Capturing only freezes the
+ * controllers' records, so edits do not wait for it. The old journal segments are deleted only
+ * after the snapshot is written, so a crash at any point leaves a snapshot and a journal that
+ * together hold every change. Each written snapshot is logged with its duration and size.
+ */
+public class SnapshotCompactor {
+    private static final Duration CHECK_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration MAX_INTERVAL = Duration.ofMinutes(10);
+    private static final long SIZE_THRESHOLD = 4 * 1024 * 1024;
+
+    private final TaskController taskController;
+    private final ReminderController reminderController;
+    private final CategoryController categoryController;
+    private final PriorityController priorityController;
+    private final DataController dataController;
+    private final Journal journal;
+    private final Executor controllerExecutor;
+    private final ScheduledExecutorService scheduler;
+
+    // Only touched on the controllers' thread
+    private boolean compacting;
+    private long lastSnapshotNanos;
+
+    /**
+     * Constructs a new SnapshotCompactor.
+     *
+     * @param taskController     The task controller to snapshot.
+     * @param reminderController The reminder controller to snapshot.
+     * @param categoryController The category controller to snapshot.
+     * @param priorityController The priority controller to snapshot.
+     * @param dataController     The data controller that writes snapshots.
+     * @param journal            The journal to compact.
+     * @param controllerExecutor The executor that runs code on the controllers' thread.
+     */
+    public SnapshotCompactor(TaskController taskController, ReminderController reminderController,
+                             CategoryController categoryController, PriorityController priorityController,
+                             DataController dataController, Journal journal, Executor controllerExecutor) {
+        if (taskController == null || reminderController == null || categoryController == null
+                || priorityController == null || dataController == null || journal == null
+                || controllerExecutor == null) {
+            throw new IllegalArgumentException("Compactor dependencies cannot be null.");
+        }
+        this.taskController = taskController;
+        this.reminderController = reminderController;
+        this.categoryController = categoryController;
+        this.priorityController = priorityController;
+        this.dataController = dataController;
+        this.journal = journal;
+        this.controllerExecutor = controllerExecutor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lastSnapshotNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts checking the journal periodically.
+     */
+    public void start() {
+        long interval = CHECK_INTERVAL.toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops checking and waits for a snapshot that is being written to finish, so that it does not
+     * race with the final save on exit.
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes a snapshot now unless one is already being written. Must be called on the controllers'
+     * thread; the snapshot is written in the background.
+     *
+     * @return Whether a snapshot was started.
+     */
+    public boolean compactNow() {
+        if (compacting) {
+            return false;
+        }
+        long start = System.nanoTime();
+        StoreSnapshot snapshot = StoreSnapshot.capture(taskController, reminderController, categoryController,
+                priorityController, journal);
+        long lastSegment = journal.rotate();
+        try {
+            scheduler.execute(() -> write(snapshot, lastSegment, start));
+        } catch (RejectedExecutionException e) {
+            // The compactor was stopped; the segments stay until the next full save
+            return false;
+        }
+        compacting = true;
+        lastSnapshotNanos = start;
+        return true;
+    }
+
+    private void check() {
+        // A failed journal only resumes once a snapshot holds the changes it could not record
+        boolean due = journal.getSegmentBytes() >= SIZE_THRESHOLD || journal.isFailed();
+        try {
+            controllerExecutor.execute(() -> {
+                boolean stale = System.nanoTime() - lastSnapshotNanos >= MAX_INTERVAL.toNanos()
+                        && journal.getSegmentBytes() > 0;
+                if (due || stale) {
+                    compactNow();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The controllers' thread is shutting down
+        }
+    }
+
+    private void write(StoreSnapshot snapshot, long lastSegment, long start) {
+        long bytesWritten = dataController.saveSnapshot(snapshot);
+        if (bytesWritten >= 0) {
+            journal.deleteSegmentsThrough(lastSegment);
+            System.out.println("Snapshot of " + snapshot.getTasks().size() + " tasks written in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, " + bytesWritten + " bytes");
+        }
+        try {
+            controllerExecutor.execute(() -> compacting = false);
+        } catch (RejectedExecutionException e) {
+            // The controllers' thread is shutting down
+        }
+    }
+}
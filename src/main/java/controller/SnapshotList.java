@@ -0,0 +1,190 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+/**
+ * The SnapshotList class is a list of immutable elements, owned by the controllers' thread, whose
+ * current state can be frozen into a {@link View} that any other thread may read while the list
+ * keeps changing. Elements live in fixed-size chunks. A view shares the chunks instead of copying
+ * the elements, so taking one costs one reference per chunk; the list copies a shared chunk the
+ * first time it writes to it afterwards.
+ * <p>
+ * Each element has a slot. Removing an element leaves its slot empty, so the slots keep the order
+ * in which elements were added; once most slots are empty, {@link #compact} moves the elements
+ * down and hands out their new slots.
+ */
+final class SnapshotList<E> {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int SLOT_MASK = CHUNK_SIZE - 1;
+
+    private Object[][] chunks = new Object[16][];
+    private final BitSet shared = new BitSet();
+    private int end;
+    private int size;
+
+    /**
+     * Appends an element after every element added before.
+     *
+     * @return The element's slot.
+     */
+    int add(E element) {
+        int slot = end++;
+        write(slot, element);
+        size++;
+        return slot;
+    }
+
+    /**
+     * @return The slot the next added element gets.
+     */
+    int nextSlot() {
+        return end;
+    }
+
+    @SuppressWarnings("unchecked")
+    E get(int slot) {
+        return (E) chunks[slot >>> CHUNK_BITS][slot & SLOT_MASK];
+    }
+
+    /**
+     * Replaces the element in an occupied slot.
+     */
+    void set(int slot, E element) {
+        write(slot, element);
+    }
+
+    /**
+     * Empties an occupied slot.
+     */
+    void remove(int slot) {
+        write(slot, null);
+        size--;
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether more than half of the slots are empty, so that {@link #compact} is due.
+     */
+    boolean isSparse() {
+        return end - size > Math.max(size, CHUNK_SIZE);
+    }
+
+    /**
+     * Moves the elements into consecutive slots, keeping their order. Views taken before keep the
+     * old chunks.
+     *
+     * @param moved Given each element and its new slot, returns the element to keep there.
+     */
+    @SuppressWarnings("unchecked")
+    void compact(Mover<E> moved) {
+        Object[][] compacted = new Object[Math.max(16, chunkCount(size) * 2)][];
+        int next = 0;
+        for (int chunk = 0; chunk < chunkCount(end); chunk++) {
+            Object[] elements = chunks[chunk];
+            for (int offset = 0; offset < CHUNK_SIZE && (chunk << CHUNK_BITS) + offset < end; offset++) {
+                Object element = elements[offset];
+                if (element != null) {
+                    if ((next & SLOT_MASK) == 0) {
+                        compacted[next >>> CHUNK_BITS] = new Object[CHUNK_SIZE];
+                    }
+                    compacted[next >>> CHUNK_BITS][next & SLOT_MASK] = moved.moved((E) element, next);
+                    next++;
+                }
+            }
+        }
+        chunks = compacted;
+        shared.clear();
+        end = next;
+    }
+
+    /**
+     * Freezes the current elements. Must be called on the thread that owns the list; the view may
+     * then be read on any thread.
+     */
+    View<E> view() {
+        int chunkCount = chunkCount(end);
+        shared.set(0, chunkCount);
+        return new View<>(Arrays.copyOf(chunks, chunkCount), end, size);
+    }
+
+    private void write(int slot, E element) {
+        int chunk = slot >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        Object[] elements = chunks[chunk];
+        if (elements == null) {
+            elements = new Object[CHUNK_SIZE];
+            chunks[chunk] = elements;
+        } else if (shared.get(chunk)) {
+            // A view still reads the chunk as it was
+            elements = elements.clone();
+            chunks[chunk] = elements;
+            shared.clear(chunk);
+        }
+        elements[slot & SLOT_MASK] = element;
+    }
+
+    private static int chunkCount(int slots) {
+        return (slots + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+    }
+
+    /**
+     * Receives the elements moved by {@link #compact}.
+     */
+    interface Mover<E> {
+        /**
+         * @return The element to keep in the new slot, which may be a copy of the moved one.
+         */
+        E moved(E element, int slot);
+    }
+
+    /**
+     * The elements of a list at the moment the view was taken, in slot order. A view never
+     * changes, so it may be read on any thread.
+     */
+    static final class View<E> {
+        private final Object[][] chunks;
+        private final int end;
+        private final int size;
+
+        private View(Object[][] chunks, int end, int size) {
+            this.chunks = chunks;
+            this.end = end;
+            this.size = size;
+        }
+
+        /**
+         * @return The number of elements.
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Passes every element to the action, in slot order.
+         */
+        @SuppressWarnings("unchecked")
+        void forEach(Consumer<? super E> action) {
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                Object[] elements = chunks[chunk];
+                int limit = Math.min(CHUNK_SIZE, end - (chunk << CHUNK_BITS));
+                for (int offset = 0; offset < limit; offset++) {
+                    Object element = elements[offset];
+                    if (element != null) {
+                        action.accept((E) element);
+                    }
+                }
+            }
+        }
+    }
+}
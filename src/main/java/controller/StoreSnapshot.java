@@ -0,0 +1,203 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+import model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the stored data, taken on the controllers' thread and written out on
+ * another one. Taking it copies nothing per task: it freezes the record views of the task and
+ * reminder controllers, which share their chunks until the controllers next write to them, and the
+ * current category and priority names. The entries the writers read are built from those on first
+ * use, on the writing thread, so the controllers can keep changing while it is saved.
+ */
+public class StoreSnapshot {
+    private final List<String> categoryNames;
+    private final List<String> priorityNames;
+    private final SnapshotList.View<TaskRecord> taskRecords;
+    private final SnapshotList.View<ReminderRecord> reminderRecords;
+    private final Map<Category, TaskSearch.Names> taskCategoryNames;
+    private final Map<Priority, TaskSearch.Names> taskPriorityNames;
+    private final TaskArchive.State archive;
+    private final long journalSequence;
+    private List<TaskEntry> tasks;
+
+    private StoreSnapshot(List<String> categoryNames, List<String> priorityNames,
+                          SnapshotList.View<TaskRecord> taskRecords, SnapshotList.View<ReminderRecord> reminderRecords,
+                          Map<Category, TaskSearch.Names> taskCategoryNames,
+                          Map<Priority, TaskSearch.Names> taskPriorityNames, List<TaskEntry> tasks,
+                          TaskArchive.State archive, long journalSequence) {
+        this.categoryNames = Collections.unmodifiableList(categoryNames);
+        this.priorityNames = Collections.unmodifiableList(priorityNames);
+        this.taskRecords = taskRecords;
+        this.reminderRecords = reminderRecords;
+        this.taskCategoryNames = taskCategoryNames;
+        this.taskPriorityNames = taskPriorityNames;
+        this.tasks = tasks == null ? null : Collections.unmodifiableList(tasks);
+        this.archive = archive;
+        this.journalSequence = journalSequence;
+    }
+
+    /**
+     * Freezes the current state of the controllers. Must be called on the controllers' thread.
+     */
+    public static StoreSnapshot capture(TaskController taskController, ReminderController reminderController,
+                                        CategoryController categoryController, PriorityController priorityController) {
+        return capture(taskController, reminderController, categoryController, priorityController, null);
+    }
+
+    /**
+     * Freezes the current state of the controllers together with the sequence number of the last
+     * change the journal recorded, which the snapshot holds. Must be called on the controllers'
+     * thread.
+     *
+     * @param journal The journal recording the controllers' changes, or {@code null} if there is none.
+     */
+    public static StoreSnapshot capture(TaskController taskController, ReminderController reminderController,
+                                        CategoryController categoryController, PriorityController priorityController,
+                                        Journal journal) {
+        List<String> categoryNames = new ArrayList<>();
+        for (Category category : categoryController.getCategoriesView()) {
+            categoryNames.add(category.getName());
+        }
+        List<String> priorityNames = new ArrayList<>();
+        for (Priority priority : priorityController.getPrioritiesView()) {
+            priorityNames.add(priority.getName());
+        }
+        TaskArchive archive = taskController.getArchive();
+        return new StoreSnapshot(categoryNames, priorityNames, taskController.freezeRecords(),
+                reminderController.freezeRecords(), taskController.categoryNames(), taskController.priorityNames(),
+                null, archive == null ? null : archive.captureState(), journal == null ? 0 : journal.lastSequence());
+    }
+
+    /**
+     * @return A snapshot with the same categories and priorities but different tasks and archive.
+     */
+    StoreSnapshot with(List<TaskEntry> newTasks, TaskArchive.State newArchive) {
+        return new StoreSnapshot(categoryNames, priorityNames, null, null, null, null, newTasks, newArchive,
+                journalSequence);
+    }
+
+    static List<TaskEntry> entries(Collection<Task> tasks) {
+        List<TaskEntry> entries = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            entries.add(new TaskEntry(task));
+        }
+        return entries;
+    }
+
+    public List<String> getCategoryNames() {
+        return categoryNames;
+    }
+
+    public List<String> getPriorityNames() {
+        return priorityNames;
+    }
+
+    /**
+     * Builds the task entries from the frozen records on first use, so this should be called on the
+     * thread that writes the snapshot.
+     *
+     * @return The stored tasks in insertion order, each with its reminders.
+     */
+    public synchronized List<TaskEntry> getTasks() {
+        if (tasks == null) {
+            // Keyed by identity, like the controllers' own indexes
+            Map<Task, List<ReminderEntry>> reminders = new IdentityHashMap<>();
+            reminderRecords.forEach(record ->
+                    reminders.computeIfAbsent(record.task, task -> new ArrayList<>()).add(new ReminderEntry(record)));
+            List<TaskEntry> entries = new ArrayList<>(taskRecords.size());
+            taskRecords.forEach(record -> entries.add(new TaskEntry(record, taskCategoryNames.get(record.category).name,
+                    taskPriorityNames.get(record.priority).name, reminders.getOrDefault(record.task, List.of()))));
+            tasks = Collections.unmodifiableList(entries);
+        }
+        return tasks;
+    }
+
+    /**
+     * @return The state of the archive the tasks are paired with, or {@code null} if there is none.
+     */
+    public TaskArchive.State getArchive() {
+        return archive;
+    }
+
+    /**
+     * @return The sequence number of the last journal record the snapshot holds, or 0 if it was not
+     * taken alongside a journal.
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    /**
+     * The stored fields of one task and its reminders.
+     */
+    public static class TaskEntry {
+        final String id;
+        final String title;
+        final String description;
+        final String category;
+        final String priority;
+        final LocalDate deadline;
+        final TaskStatus status;
+        final List<ReminderEntry> reminders;
+
+        TaskEntry(Task task) {
+            this.id = task.getId();
+            this.title = task.getTitle();
+            this.description = task.getDescription();
+            this.category = task.getCategory().getName();
+            this.priority = task.getPriority().getName();
+            this.deadline = task.getDeadline();
+            this.status = task.getStatus();
+            List<ReminderEntry> reminderEntries = new ArrayList<>(task.getReminders().size());
+            for (Reminder reminder : task.getReminders()) {
+                reminderEntries.add(new ReminderEntry(reminder));
+            }
+            this.reminders = reminderEntries;
+        }
+
+        TaskEntry(TaskRecord record, String category, String priority, List<ReminderEntry> reminders) {
+            this.id = record.task.getId();
+            this.title = record.title;
+            this.description = record.description;
+            this.category = category;
+            this.priority = priority;
+            this.deadline = record.deadline;
+            this.status = record.status;
+            this.reminders = reminders;
+        }
+    }
+
+    /**
+     * The stored fields of one reminder.
+     */
+    public static class ReminderEntry {
+        final String id;
+        final ReminderType type;
+        final LocalDate date;
+
+        ReminderEntry(Reminder reminder) {
+            this.id = reminder.getId();
+            this.type = reminder.getType();
+            this.date = reminder.getReminderDate();
+        }
+
+        ReminderEntry(ReminderRecord record) {
+            this.id = record.id;
+            this.type = record.type;
+            this.date = record.date;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.ReminderType;
+import model.Task;
+import model.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The TaskArchive class holds completed tasks in a memory-mapped file instead of on the heap. The
+ * file is written by {@link DataController#archiveCompleted} and never changes afterwards; the heap
+ * only holds where each task record starts, which records have left the archive, and a bounded
+ * cache of the tasks that were recently turned into objects. A task evicted from the cache becomes
+ * a new object the next time it is fetched, so archived tasks must be compared by id, as
+ * {@link Task#equals} does, and not by identity. A task leaves the archive, is <i>withdrawn</i>,
+ * when it is edited, which moves it into the {@link TaskController}, or deleted.
+ * <p>
+ * Records are sorted by id, so a task is found by binary search over the mapped file. Archived
+ * tasks refer to the same category and priority objects as the live ones, so renames apply to
+ * them too. All methods must be called on the controllers' thread, except the searches returned
+ * by {@link #prepareSearch}, which only read the file and copies made when they were prepared.
+ */
+public class TaskArchive {
+    private static final int CACHE_SIZE = 1024;
+
+    final String file;
+    final ByteBuffer buffer;
+    final int[] offsets;
+    private final Category[] categories;
+    private final Priority[] priorities;
+    private final boolean[] deletedCategories;
+    private final BitSet withdrawn;
+    private final Map<Integer, Task> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final BinaryStore.Dates dates = new BinaryStore.Dates();
+    private int size;
+    private long version;
+
+    /**
+     * Constructs an archive over a mapped archive file.
+     *
+     * @param file       The name of the archive file.
+     * @param buffer     The mapped file.
+     * @param offsets    Where each task record starts, in id order.
+     * @param categories The category of each index of the file's category dictionary.
+     * @param priorities The priority of each index of the file's priority dictionary.
+     */
+    TaskArchive(String file, ByteBuffer buffer, int[] offsets, Category[] categories, Priority[] priorities) {
+        this.file = file;
+        this.buffer = buffer;
+        this.offsets = offsets;
+        this.categories = categories;
+        this.priorities = priorities;
+        this.deletedCategories = new boolean[categories.length];
+        this.withdrawn = new BitSet(offsets.length);
+        this.size = offsets.length;
+    }
+
+    /**
+     * @return The number of tasks in the archive.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id The id of a task.
+     * @return Whether the task with the given id is archived.
+     */
+    public boolean contains(String id) {
+        int position = find(id);
+        return position >= 0 && !withdrawn.get(position);
+    }
+
+    /**
+     * Looks up an archived task by its id.
+     *
+     * @param id The id of the task.
+     * @return The task with the given id, or {@code null} if it is not archived.
+     */
+    public Task getTask(String id) {
+        int position = find(id);
+        return position >= 0 && !withdrawn.get(position) ? get(position) : null;
+    }
+
+    /**
+     * @return The number of archived tasks currently held as objects.
+     */
+    public int getCachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Takes a task out of the archive, because it was moved into the task store or deleted.
+     *
+     * @param id The id of the task.
+     * @return Whether the task was archived.
+     */
+    boolean withdraw(String id) {
+        int position = find(id);
+        if (position < 0 || withdrawn.get(position)) {
+            return false;
+        }
+        withdraw(position);
+        return true;
+    }
+
+    /**
+     * Takes every task of a category out of the archive, because the category was deleted.
+     *
+     * @return The withdrawn tasks that were held as objects, which views may be showing.
+     */
+    List<Task> withdrawCategory(Category category) {
+        Set<Category> deleted = Collections.newSetFromMap(new IdentityHashMap<>());
+        deleted.add(category);
+        return withdrawCategories(deleted);
+    }
+
+    /**
+     * Moves the archived tasks with one priority to another. Tasks turned into objects later get
+     * the new priority, and so do the cached ones; copies already evicted from the cache keep the
+     * old one, so views holding archived tasks fetch them again after a priority is deleted.
+     */
+    void reassignPriority(Priority from, Priority to) {
+        for (int index = 0; index < priorities.length; index++) {
+            if (priorities[index] == from) {
+                priorities[index] = to;
+            }
+        }
+        for (Task task : cache.values()) {
+            if (task.getPriority() == from) {
+                task.setPriority(to);
+            }
+        }
+    }
+
+    /**
+     * Withdraws the tasks whose category is not among the given ones and moves the tasks whose
+     * priority is not among the given ones to the fallback priority. Used after replaying the
+     * journal, which may have deleted categories and priorities the archive refers to.
+     */
+    void retain(Collection<Category> liveCategories, Collection<Priority> livePriorities, Priority fallback) {
+        Set<Category> keptCategories = Collections.newSetFromMap(new IdentityHashMap<>());
+        keptCategories.addAll(liveCategories);
+        Set<Category> deleted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Category category : categories) {
+            if (!keptCategories.contains(category)) {
+                deleted.add(category);
+            }
+        }
+        withdrawCategories(deleted);
+
+        Set<Priority> keptPriorities = Collections.newSetFromMap(new IdentityHashMap<>());
+        keptPriorities.addAll(livePriorities);
+        for (Priority priority : priorities) {
+            if (!keptPriorities.contains(priority)) {
+                reassignPriority(priority, fallback);
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the first archived task at or after the given position.
+     *
+     * @return The position, or a value of at least the archive's record count if there is none.
+     */
+    int nextPosition(int position) {
+        return withdrawn.nextClearBit(position);
+    }
+
+    /**
+     * @return Whether the task at the given position is still archived.
+     */
+    boolean isArchived(int position) {
+        return position < offsets.length && !withdrawn.get(position);
+    }
+
+    /**
+     * Turns the task at the given position into an object, or returns the cached one.
+     */
+    Task get(int position) {
+        Task cached = cache.get(position);
+        if (cached != null) {
+            return cached;
+        }
+        Task[] task = new Task[1];
+        BinaryStore.readTask(buffer, offsets[position], new BinaryStore.TaskVisitor() {
+            @Override
+            public void task(String id, String title, String description, int categoryIndex, int priorityIndex,
+                             LocalDate deadline, TaskStatus status) {
+                task[0] = new Task(id, title, description, categories[categoryIndex],
+                        priorities[priorityIndex], deadline, true);
+                task[0].setStatus(status);
+            }
+
+            @Override
+            public void reminder(String id, ReminderType type, LocalDate date) {
+                // Archived tasks are completed and have no reminders
+            }
+
+            @Override
+            public void endTask() {
+            }
+        }, dates);
+        cache.put(position, task[0]);
+        return task[0];
+    }
+
+    /**
+     * Prepares a search for the archived tasks matching a query, with the semantics of
+     * {@link TaskController#searchTasks}. The dictionaries and the set of withdrawn tasks are copied
+     * here, so the returned search only reads the file and those copies and may run on a background
+     * thread.
+     *
+     * @return A search returning the positions of the matching tasks, in id order.
+     */
+    Supplier<int[]> prepareSearch(String title, String categoryName, String priorityName) {
+        String titleQuery = (title == null) ? "" : title.toLowerCase();
+        String categoryQuery = (categoryName == null) ? "" : categoryName.toLowerCase();
+        String priorityQuery = (priorityName == null) ? "" : priorityName.toLowerCase();
+
+        boolean[] categoryMatches = new boolean[categories.length];
+        for (int index = 0; index < categories.length; index++) {
+            categoryMatches[index] = !deletedCategories[index]
+                    && categories[index].getLowerCaseName().contains(categoryQuery);
+        }
+        boolean[] priorityMatches = new boolean[priorities.length];
+        for (int index = 0; index < priorities.length; index++) {
+            priorityMatches[index] = priorities[index].getLowerCaseName().contains(priorityQuery);
+        }
+        BitSet withdrawnNow = copyWithdrawn();
+        int sizeNow = size;
+
+        return () -> {
+            int[] matches = new int[sizeNow];
+            int count = 0;
+            for (int position = withdrawnNow.nextClearBit(0); position < offsets.length && count < matches.length;
+                 position = withdrawnNow.nextClearBit(position + 1)) {
+                int offset = offsets[position];
+                if (categoryMatches[BinaryStore.recordCategory(buffer, offset)]
+                        && priorityMatches[BinaryStore.recordPriority(buffer, offset)]
+                        && (titleQuery.isEmpty()
+                        || BinaryStore.recordTitle(buffer, offset).toLowerCase().contains(titleQuery))) {
+                    matches[count++] = position;
+                }
+            }
+            return count == matches.length ? matches : Arrays.copyOf(matches, count);
+        };
+    }
+
+    /**
+     * @return A copy of the positions of the tasks that left the archive.
+     */
+    BitSet copyWithdrawn() {
+        return (BitSet) withdrawn.clone();
+    }
+
+    /**
+     * @return The number of task records in the archive file, archived or withdrawn.
+     */
+    int recordCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Finds the record of a task, whether it is still archived or not.
+     *
+     * @return The position of the task's record, or {@code -1} if the file has none.
+     */
+    int position(String id) {
+        return find(id);
+    }
+
+    /**
+     * @return A counter that changes whenever a task leaves the archive.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Copies what a snapshot needs to know about the archive.
+     */
+    State captureState() {
+        List<String> categoryNames = new ArrayList<>(categories.length);
+        for (Category category : categories) {
+            // Deleted categories keep their last name; none of their tasks is still archived
+            categoryNames.add(category.getName());
+        }
+        List<String> priorityNames = new ArrayList<>(priorities.length);
+        for (Priority priority : priorities) {
+            priorityNames.add(priority.getName());
+        }
+        return new State(file, categoryNames, priorityNames, this, copyWithdrawn());
+    }
+
+    private int find(String id) {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = BinaryStore.recordId(buffer, offsets[middle]).compareTo(id);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private List<Task> withdrawCategories(Set<Category> deleted) {
+        boolean[] removed = new boolean[categories.length];
+        boolean any = false;
+        for (int index = 0; index < categories.length; index++) {
+            if (!deletedCategories[index] && deleted.contains(categories[index])) {
+                removed[index] = true;
+                deletedCategories[index] = true;
+                any = true;
+            }
+        }
+        List<Task> cached = new ArrayList<>();
+        if (!any) {
+            return cached;
+        }
+        for (int position = withdrawn.nextClearBit(0); position < offsets.length;
+             position = withdrawn.nextClearBit(position + 1)) {
+            if (removed[BinaryStore.recordCategory(buffer, offsets[position])]) {
+                Task task = withdraw(position);
+                if (task != null) {
+                    cached.add(task);
+                }
+            }
+        }
+        return cached;
+    }
+
+    private Task withdraw(int position) {
+        withdrawn.set(position);
+        size--;
+        version++;
+        return cache.remove(position);
+    }
+
+    /**
+     * What a snapshot records about the archive: the archive file, the current names of the
+     * categories and priorities its tasks refer to, and which tasks were withdrawn from it.
+     */
+    public static class State {
+        final String file;
+        final List<String> categoryNames;
+        final List<String> priorityNames;
+        // The file and offsets never change, so they may be read on the writing thread
+        final TaskArchive archive;
+        final BitSet withdrawn;
+
+        /**
+         * @param archive   The archive the state was captured from, or {@code null} for a new one.
+         * @param withdrawn The positions of the withdrawn tasks, or {@code null} for a new archive.
+         */
+        State(String file, List<String> categoryNames, List<String> priorityNames, TaskArchive archive,
+              BitSet withdrawn) {
+            this.file = file;
+            this.categoryNames = Collections.unmodifiableList(categoryNames);
+            this.priorityNames = Collections.unmodifiableList(priorityNames);
+            this.archive = archive;
+            this.withdrawn = withdrawn;
+        }
+
+        /**
+         * Reads the ids of the withdrawn tasks from the archive file.
+         */
+        List<String> withdrawnIds() {
+            if (withdrawn == null) {
+                return List.of();
+            }
+            List<String> ids = new ArrayList<>(withdrawn.cardinality());
+            for (int position = withdrawn.nextSetBit(0); position >= 0; position = withdrawn.nextSetBit(position + 1)) {
+                ids.add(BinaryStore.recordId(archive.buffer, archive.offsets[position]));
+            }
+            return ids;
+        }
+    }
+}
@@ -4,21 +4,89 @@ import model.*;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * The TaskController class manages the lifecycle of tasks, including creation, deletion, updating,
  * and searching for tasks. It also handles the automatic status update for delayed tasks.
+ * <p>
+ * Completed tasks may be kept in a {@link TaskArchive} instead of the task store. Archived tasks
+ * are listed by cursors and can be updated and removed like stored ones; updating one moves it into
+ * the store.
  */
 public class TaskController {
-    private List<Task> tasks;
+    /**
+     * The largest trigram posting {@link #prepareSearch} collects the records of, and that
+     * {@link #searchTasks} narrows its candidates to. Larger ones are left to the search, which then
+     * checks every task.
+     */
+    private static final int MAX_COLLECTED_POSTING = 16_384;
+
+    private final Map<String, Task> tasks;
+    private final Collection<Task> tasksView;
+    private final TaskStatistics statistics;
+    private final NavigableMap<LocalDate, Set<Task>> tasksByDeadline;
+    private final NavigableMap<LocalDate, Set<Task>> sweepCandidatesByDeadline;
+    private final TitleTrigramIndex titleIndex;
+    private final Map<Category, Set<Task>> tasksByCategory;
+    private final Map<Priority, Set<Task>> tasksByPriority;
+    private final Map<Task, TaskRecord> records;
+    private final SnapshotList<TaskRecord> recordList;
+    private long nextInsertion;
+    private final ChangeNotifier<Task> notifier;
+    private TaskArchive archive;
 
     /**
-     * Constructs a new TaskController with an empty task list.
+     * Constructs a new TaskController with an empty task store. Tasks are indexed by their id and
+     * keep the order in which they were added.
      */
     public TaskController() {
-        this.tasks = new ArrayList<>();
+        this.tasks = new LinkedHashMap<>();
+        this.tasksView = Collections.unmodifiableCollection(tasks.values());
+        this.statistics = new TaskStatistics();
+        this.tasksByDeadline = new TreeMap<>();
+        this.sweepCandidatesByDeadline = new TreeMap<>();
+        this.titleIndex = new TitleTrigramIndex();
+        // Keyed by identity, since renaming a category or priority changes its hash code
+        this.tasksByCategory = new IdentityHashMap<>();
+        this.tasksByPriority = new IdentityHashMap<>();
+        this.records = new IdentityHashMap<>();
+        this.recordList = new SnapshotList<>();
+        this.notifier = new ChangeNotifier<>();
+    }
+
+    /**
+     * Registers a listener that is told about every task added, removed or updated through this
+     * controller.
+     *
+     * @param listener The listener to register.
+     */
+    public void addTaskListener(ModelChangeListener<Task> listener) {
+        notifier.addListener(listener);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addTaskListener(ModelChangeListener)}.
+     *
+     * @param listener The listener to unregister.
+     */
+    public void removeTaskListener(ModelChangeListener<Task> listener) {
+        notifier.removeListener(listener);
     }
 
     /**
@@ -32,13 +100,48 @@ public class TaskController {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null.");
         }
-        if (tasks.contains(task)) {
+        if (tasks.containsKey(task.getId())) {
             throw new IllegalArgumentException("Task already exists in the system.");
         }
         if (task.getPriority() == null) {
             task.setPriority(priorityController.getDefaultPriority());
         }
-        tasks.add(task);
+        tasks.put(task.getId(), task);
+        index(task);
+        notifier.fire(ModelChangeEvent.Type.ADDED, task);
+    }
+
+    /**
+     * Adds several tasks at once. The whole batch is validated before any task is stored, so either
+     * all tasks are added or none is, and listeners are told once about all of them.
+     *
+     * @param newTasks           The tasks to be added.
+     * @param priorityController The priority controller to manage priorities.
+     * @throws IllegalArgumentException if a task is null, already exists or appears twice in the batch.
+     */
+    public void addTasks(Collection<Task> newTasks, PriorityController priorityController) {
+        if (newTasks == null) {
+            throw new IllegalArgumentException("Tasks cannot be null.");
+        }
+        Set<String> batchIds = new HashSet<>();
+        for (Task task : newTasks) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null.");
+            }
+            if (tasks.containsKey(task.getId()) || !batchIds.add(task.getId())) {
+                throw new IllegalArgumentException("Task already exists in the system.");
+            }
+        }
+
+        List<Task> added = new ArrayList<>(newTasks);
+        for (Task task : added) {
+            if (task.getPriority() == null) {
+                task.setPriority(priorityController.getDefaultPriority());
+            }
+            tasks.put(task.getId(), task);
+            index(task);
+        }
+        notifier.fire(ModelChangeEvent.Type.ADDED, added);
     }
 
     /**
@@ -52,19 +155,202 @@ public class TaskController {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null.");
         }
-        if (!tasks.contains(task)) {
+        if (isArchived(task)) {
+            archive.withdraw(task.getId());
+            notifier.fire(ModelChangeEvent.Type.REMOVED, task);
+            return;
+        }
+        if (!tasks.containsKey(task.getId())) {
             throw new IllegalArgumentException("Task does not exist in the system.");
         }
+        task = stored(task);
+
+        reminderController.removeRemindersForTask(task);
+        tasks.remove(task.getId());
+        unindex(task);
+        forget(task);
+        notifier.fire(ModelChangeEvent.Type.REMOVED, task);
+    }
+
+    /**
+     * Removes every task in a category together with its reminders, in a single pass over the
+     * category's tasks. Listeners are told once about all removed tasks and reminders. Archived tasks
+     * in the category are removed as well, but only those held as objects are reported, since the
+     * others were never handed out.
+     *
+     * @param category           The category whose tasks are removed.
+     * @param reminderController The reminder controller to handle associated reminders.
+     * @return The removed tasks.
+     */
+    public List<Task> removeTasksInCategory(Category category, ReminderController reminderController) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null.");
+        }
+        List<Task> removed = getTasksInCategory(category);
+        removeStoredTasks(removed, reminderController);
+        if (archive != null) {
+            List<Task> archived = archive.withdrawCategory(category);
+            notifier.fire(ModelChangeEvent.Type.REMOVED, archived);
+            removed.addAll(archived);
+        }
+        return removed;
+    }
 
-        for (Reminder reminder : new ArrayList<>(task.getReminders())) {
-            reminderController.removeReminder(reminder);
+    /**
+     * Removes several tasks at once together with their reminders. The whole batch is validated
+     * before any task is removed, and listeners are told once about all removed tasks and reminders.
+     *
+     * @param tasksToRemove      The tasks to be removed.
+     * @param reminderController The reminder controller to handle associated reminders.
+     * @throws IllegalArgumentException if a task is null or does not exist in the system.
+     */
+    public void removeTasks(Collection<Task> tasksToRemove, ReminderController reminderController) {
+        if (tasksToRemove == null) {
+            throw new IllegalArgumentException("Tasks cannot be null.");
+        }
+        Map<String, Task> removed = new LinkedHashMap<>();
+        Map<String, Task> archived = new LinkedHashMap<>();
+        for (Task task : tasksToRemove) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null.");
+            }
+            if (isArchived(task)) {
+                archived.put(task.getId(), task);
+            } else if (tasks.containsKey(task.getId())) {
+                removed.put(task.getId(), stored(task));
+            } else {
+                throw new IllegalArgumentException("Task does not exist in the system.");
+            }
+        }
+        removeStoredTasks(new ArrayList<>(removed.values()), reminderController);
+        if (!archived.isEmpty()) {
+            archived.keySet().forEach(archive::withdraw);
+            notifier.fire(ModelChangeEvent.Type.REMOVED, new ArrayList<>(archived.values()));
         }
-        tasks.remove(task);
+    }
+
+    /**
+     * Applies a change to every task matching a condition. The change is first run on a detached
+     * copy of each selected task, and every copy is checked as {@link #updateTask} checks a single
+     * update, so a change that is invalid for any task leaves all of them untouched. The tasks then
+     * take their copies' details, reminders follow the new state as in {@link #updateTask}, and
+     * listeners are told once about all changed tasks. Archived tasks are not visited.
+     *
+     * @param condition          Selects the tasks to change.
+     * @param change             The change to apply to the copy of each selected task.
+     * @param reminderController The reminder controller to manage reminders.
+     * @return The changed tasks.
+     * @throws IllegalArgumentException if the change is invalid for any selected task.
+     */
+    public List<Task> updateTasks(Predicate<? super Task> condition, Consumer<? super Task> change,
+                                  ReminderController reminderController) {
+        if (condition == null || change == null) {
+            throw new IllegalArgumentException("Condition and change cannot be null.");
+        }
+        List<Task> selected = tasks.values().stream().filter(condition).collect(Collectors.toList());
+        List<Task> drafts = new ArrayList<>(selected.size());
+        for (Task task : selected) {
+            Task draft = new Task(task.getId(), task.getTitle(), task.getDescription(), task.getCategory(),
+                    task.getPriority(), task.getDeadline(), true);
+            draft.setStatus(task.getStatus());
+            change.accept(draft);
+            draft.setStatus(checkUpdate(task, draft.getCategory(), draft.getPriority(), draft.getDeadline(),
+                    draft.getStatus()));
+            drafts.add(draft);
+        }
+
+        List<Task> completed = new ArrayList<>();
+        List<Task> rescheduled = new ArrayList<>();
+        for (int i = 0; i < selected.size(); i++) {
+            Task task = selected.get(i);
+            Task draft = drafts.get(i);
+            boolean deadlineChanged = !task.getDeadline().equals(draft.getDeadline());
+            if (draft.getStatus() == TaskStatus.COMPLETED && task.getStatus() != TaskStatus.COMPLETED) {
+                completed.add(task);
+            } else if (deadlineChanged) {
+                rescheduled.add(task);
+            }
+            change(task, draft.getTitle(), draft.getDescription(), draft.getCategory(), draft.getPriority(),
+                    draft.getDeadline(), draft.getStatus());
+        }
+        notifier.fire(ModelChangeEvent.Type.UPDATED, selected);
+        reminderController.removeRemindersForTasks(completed);
+        for (Task task : rescheduled) {
+            reminderController.reevaluateRemindersForTask(task);
+        }
+        return selected;
+    }
+
+    /**
+     * Marks several tasks as completed at once and removes their reminders. Tasks that are already
+     * completed, including archived ones, are left alone.
+     *
+     * @param tasksToComplete    The tasks to be completed.
+     * @param reminderController The reminder controller to manage reminders.
+     * @return The tasks whose status was changed.
+     * @throws IllegalArgumentException if a task is null or does not exist in the system.
+     */
+    public List<Task> completeAll(Collection<Task> tasksToComplete, ReminderController reminderController) {
+        if (tasksToComplete == null) {
+            throw new IllegalArgumentException("Tasks cannot be null.");
+        }
+        for (Task task : tasksToComplete) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null.");
+            }
+            if (!tasks.containsKey(task.getId()) && !isArchived(task)) {
+                throw new IllegalArgumentException("Task does not exist in the system.");
+            }
+        }
+
+        List<Task> completed = new ArrayList<>();
+        for (Task given : tasksToComplete) {
+            Task task = stored(given);
+            if (task.getStatus() != TaskStatus.COMPLETED && tasks.containsKey(task.getId())) {
+                changeStatus(task, TaskStatus.COMPLETED);
+                completed.add(task);
+            }
+        }
+        notifier.fire(ModelChangeEvent.Type.UPDATED, completed);
+        reminderController.removeRemindersForTasks(completed);
+        return completed;
+    }
+
+    /**
+     * Moves every task with one priority to another, in a single pass over the tasks that have it.
+     * Listeners are told once about all reassigned tasks.
+     *
+     * @param from The priority being replaced.
+     * @param to   The priority the tasks get instead.
+     * @return The reassigned tasks.
+     */
+    public List<Task> reassignPriority(Priority from, Priority to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Priorities cannot be null.");
+        }
+        if (archive != null && from != to) {
+            archive.reassignPriority(from, to);
+        }
+        if (from == to || !tasksByPriority.containsKey(from)) {
+            return new ArrayList<>();
+        }
+        Set<Task> bucket = tasksByPriority.remove(from);
+        // Priority takes part in no other index, so the bucket is moved as a whole
+        List<Task> reassigned = new ArrayList<>(bucket);
+        Set<Task> target = tasksByPriority.computeIfAbsent(to, p -> new LinkedHashSet<>());
+        for (Task task : reassigned) {
+            task.setPriority(to);
+            target.add(task);
+            record(task);
+        }
+        notifier.fire(ModelChangeEvent.Type.UPDATED, reassigned);
+        return reassigned;
     }
 
     /**
      * Updates an existing task's details, including title, description, category, priority,
-     * deadline, and status. It also ensures that reminders are updated accordingly.
+     * deadline, and status. It also ensures that reminders are updated accordingly. An archived task
+     * is moved into the task store.
      *
      * @param task               The task to be updated.
      * @param title              The new title of the task.
@@ -81,12 +367,59 @@ public class TaskController {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null.");
         }
-        if (!tasks.contains(task)) {
+        boolean archived = isArchived(task);
+        if (!archived && !tasks.containsKey(task.getId())) {
             throw new IllegalArgumentException("Task does not exist in the system.");
         }
+        task = stored(task);
 
+        status = checkUpdate(task, category, priority, deadline, status);
         boolean deadlineChanged = !task.getDeadline().equals(deadline);
         boolean statusChangedToCompleted = (status == TaskStatus.COMPLETED && task.getStatus() != TaskStatus.COMPLETED);
+
+        if (archived) {
+            // Stored unchanged first, so the change below updates the indexes like any other
+            archive.withdraw(task.getId());
+            tasks.put(task.getId(), task);
+            index(task);
+            notifier.fire(ModelChangeEvent.Type.ADDED, task);
+        }
+        change(task, title, description, category, priority, deadline, status);
+
+        // Listeners hear about the task before its reminders, which are checked against its new state
+        notifier.fire(ModelChangeEvent.Type.UPDATED, task);
+        if (statusChangedToCompleted) {
+            reminderController.removeRemindersForTask(task);
+        }
+        if (deadlineChanged) {
+            reminderController.reevaluateRemindersForTask(task);
+        }
+    }
+
+    /**
+     * Returns the stored object for a task. A task evicted from the archive's cache comes back as a
+     * new object, so a caller may still hold an older copy of a task that has since been stored.
+     *
+     * @param task The task as the caller holds it.
+     * @return The stored task with the same id, or the given task if none is stored.
+     */
+    private Task stored(Task task) {
+        Task stored = tasks.get(task.getId());
+        return stored == null ? task : stored;
+    }
+
+    /**
+     * Checks the new category, priority, deadline and status of a task against its current state.
+     *
+     * @return The status the task gets, which is OPEN for a delayed task moved to a future date.
+     * @throws IllegalArgumentException if a value is missing or the deadline/status is invalid.
+     */
+    private static TaskStatus checkUpdate(Task task, Category category, Priority priority, LocalDate deadline,
+                                          TaskStatus status) {
+        if (category == null || priority == null || deadline == null || status == null) {
+            throw new IllegalArgumentException("Task category, priority, deadline and status cannot be null.");
+        }
+        boolean deadlineChanged = !task.getDeadline().equals(deadline);
         boolean wasDelayed = (task.getStatus() == TaskStatus.DELAYED);
 
         if (wasDelayed) {
@@ -110,35 +443,90 @@ public class TaskController {
         }
 
         if (wasDelayed && deadline.isAfter(LocalDate.now()) && status == TaskStatus.DELAYED) {
-            status = TaskStatus.OPEN;
+            return TaskStatus.OPEN;
         }
+        return status;
+    }
 
+    private static void apply(Task task, String title, String description, Category category, Priority priority,
+                              LocalDate deadline, TaskStatus status) {
         task.setTitle(title);
         task.setDescription(description);
         task.setCategory(category);
         task.setPriority(priority);
         task.setDeadline(deadline);
         task.setStatus(status);
+    }
 
-        if (statusChangedToCompleted) {
-            for (Reminder reminder : new ArrayList<>(task.getReminders())) {
-                reminderController.removeReminder(reminder);
-            }
+    /**
+     * Updates the status of tasks that are past their deadline to "DELAYED".
+     *
+     * @return The tasks whose status was changed.
+     */
+    public List<Task> updateDelayedTasks() {
+        return updateDelayedTasks(LocalDate.now());
+    }
+
+    /**
+     * Updates the status of tasks whose deadline is before the given day to "DELAYED". Only tasks
+     * that are neither completed nor already delayed and whose deadline has passed are visited.
+     *
+     * @param today The day to compare deadlines against.
+     * @return The tasks whose status was changed.
+     */
+    public List<Task> updateDelayedTasks(LocalDate today) {
+        List<Task> overdue = new ArrayList<>();
+        for (Set<Task> bucket : sweepCandidatesByDeadline.headMap(today, false).values()) {
+            overdue.addAll(bucket);
         }
-        if (deadlineChanged) {
-            reminderController.reevaluateRemindersForTask(task, reminderController);
+        for (Task task : overdue) {
+            changeStatus(task, TaskStatus.DELAYED);
         }
+        notifier.fire(ModelChangeEvent.Type.UPDATED, overdue);
+        return overdue;
     }
 
     /**
-     * Updates the status of tasks that are past their deadline to "DELAYED".
+     * Retrieves the tasks whose deadline falls within the given range, ordered by deadline.
+     *
+     * @param from The first deadline to include.
+     * @param to   The last deadline to include.
+     * @return A list of the tasks due in the range.
      */
-    public void updateDelayedTasks() {
-        for (Task task : tasks) {
-            if (task.getDeadline().isBefore(LocalDate.now()) && task.getStatus() != TaskStatus.COMPLETED) {
-                task.setStatus(TaskStatus.DELAYED);
+    public List<Task> tasksDueBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date range cannot be null.");
+        }
+        List<Task> result = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return result;
+        }
+        for (Set<Task> bucket : tasksByDeadline.subMap(from, true, to, true).values()) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the tasks that are not completed and whose deadline is before the given date,
+     * ordered by deadline.
+     *
+     * @param date The date to compare deadlines against.
+     * @return A list of the overdue tasks.
+     */
+    public List<Task> overdueAsOf(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        List<Task> result = new ArrayList<>();
+        for (Set<Task> bucket : tasksByDeadline.headMap(date, false).values()) {
+            for (Task task : bucket) {
+                if (task.getStatus() != TaskStatus.COMPLETED) {
+                    result.add(task);
+                }
             }
         }
+        return result;
     }
 
     /**
@@ -147,11 +535,74 @@ public class TaskController {
      * @return A list containing all tasks.
      */
     public List<Task> getTasks() {
-        return new ArrayList<>(tasks);
+        return new ArrayList<>(tasks.values());
     }
 
     /**
-     * Searches for tasks based on title, category, and priority.
+     * Returns a read-only live view of all tasks in the system, without copying them. The view
+     * reflects later changes, so callers that modify the store while iterating should use
+     * {@link #getTasks()} instead.
+     *
+     * @return An unmodifiable view of all tasks.
+     */
+    public Collection<Task> getTasksView() {
+        return tasksView;
+    }
+
+    /**
+     * Retrieves the counters describing the tasks in the system. They are kept up to date by every
+     * change made through this controller.
+     *
+     * @return The task statistics of this controller.
+     */
+    public TaskStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Looks up a task by its id.
+     *
+     * @param id The id of the task.
+     * @return The task with the given id, stored or archived, or {@code null} if there is none.
+     */
+    public Task getTaskById(String id) {
+        Task task = tasks.get(id);
+        return task == null && archive != null ? archive.getTask(id) : task;
+    }
+
+    /**
+     * Attaches the archive holding the completed tasks that are not in the task store. Archived
+     * copies of stored tasks are withdrawn, since the stored ones are newer.
+     *
+     * @param taskArchive The archive, or {@code null} to detach it.
+     */
+    public void attachArchive(TaskArchive taskArchive) {
+        this.archive = taskArchive;
+        if (taskArchive != null) {
+            tasks.keySet().forEach(taskArchive::withdraw);
+        }
+    }
+
+    /**
+     * @return The attached archive, or {@code null} if there is none.
+     */
+    public TaskArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * @return The number of archived tasks, which are all completed and not counted by
+     * {@link #getStatistics()}.
+     */
+    public int getArchivedTaskCount() {
+        return archive == null ? 0 : archive.size();
+    }
+
+    /**
+     * Searches for tasks based on title, category, and priority. Title queries of at least three
+     * characters are answered from the title trigram index, so only tasks sharing all of the
+     * query's trigrams are checked, unless one of its trigrams is too common for that to beat
+     * checking every task in insertion order.
      *
      * @param title        The title (or part of it) to search for.
      * @param categoryName The category name to filter by.
@@ -159,22 +610,285 @@ public class TaskController {
      * @return A list of tasks matching the search criteria.
      */
     public List<Task> searchTasks(String title, String categoryName, String priorityName) {
-        return tasks.stream()
+        String titleQuery = (title == null) ? "" : title.toLowerCase();
+        String categoryQuery = (categoryName == null) ? "" : categoryName.toLowerCase();
+        String priorityQuery = (priorityName == null) ? "" : priorityName.toLowerCase();
+
+        Collection<Task> candidates = tasks.values();
+        if (titleQuery.length() >= TitleTrigramIndex.GRAM_LENGTH
+                && titleIndex.smallestPosting(titleQuery).size() <= MAX_COLLECTED_POSTING) {
+            List<Task> narrowed = new ArrayList<>(titleIndex.candidates(titleQuery));
+            narrowed.sort(this::compareInsertion);
+            candidates = narrowed;
+        }
+        return candidates.stream()
                 .filter(task -> {
-                    boolean matchesTitle = (title == null || title.isEmpty() ||
-                            task.getTitle().toLowerCase().contains(title.toLowerCase()));
+                    boolean matchesTitle = (titleQuery.isEmpty() ||
+                            task.getLowerCaseTitle().contains(titleQuery));
 
-                    boolean matchesCategory = (categoryName == null || categoryName.isEmpty() ||
-                            task.getCategory().getName().toLowerCase().contains(categoryName.toLowerCase()));
+                    boolean matchesCategory = (categoryQuery.isEmpty() ||
+                            task.getCategory().getLowerCaseName().contains(categoryQuery));
 
-                    boolean matchesPriority = (priorityName == null || priorityName.isEmpty() ||
-                            task.getPriority().getName().toLowerCase().contains(priorityName.toLowerCase()));
+                    boolean matchesPriority = (priorityQuery.isEmpty() ||
+                            task.getPriority().getLowerCaseName().contains(priorityQuery));
 
                     return matchesTitle && matchesCategory && matchesPriority;
                 })
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Prepares a search for the tasks matching the given query, in the given order. Nothing is
+     * copied here: the search takes a frozen view of the task records, which later changes leave
+     * alone, and the current names of the categories and priorities in use. Title queries of at
+     * least three characters take their candidates from the smallest posting of the title trigram
+     * index instead, when it is small enough to collect here. The returned search can then be run on
+     * a background thread while tasks keep changing. Archived tasks follow the stored ones in id
+     * order, which is the order they were created in; the given order only applies to stored tasks,
+     * since sorting the archive would mean loading all of it.
+     *
+     * @param title        The title (or part of it) to search for, or empty for any title.
+     * @param categoryName The category name to filter by, or empty for any category.
+     * @param priorityName The priority name to filter by, or empty for any priority.
+     * @param order        The order of the tasks, or {@code null} for insertion order.
+     * @return The prepared search.
+     */
+    public TaskSearch prepareSearch(String title, String categoryName, String priorityName, TaskOrder order) {
+        String titleQuery = (title == null) ? "" : title.toLowerCase();
+        List<TaskRecord> posting = null;
+        if (titleQuery.length() >= TitleTrigramIndex.GRAM_LENGTH) {
+            Set<Task> smallest = titleIndex.smallestPosting(titleQuery);
+            if (smallest.size() <= MAX_COLLECTED_POSTING) {
+                posting = new ArrayList<>(smallest.size());
+                for (Task task : smallest) {
+                    posting.add(records.get(task));
+                }
+            }
+        }
+        return new TaskSearch(title, categoryName, priorityName, order, posting == null ? freezeRecords() : null,
+                posting, categoryNames(), priorityNames(), task -> records.get(task).sequence, archive);
+    }
+
+    /**
+     * Freezes the records of the stored tasks, in insertion order. Must be called on the
+     * controllers' thread; the view may then be read on any thread.
+     */
+    SnapshotList.View<TaskRecord> freezeRecords() {
+        return recordList.view();
+    }
+
+    /**
+     * @return The current names of the categories the stored tasks have.
+     */
+    Map<Category, TaskSearch.Names> categoryNames() {
+        return TaskSearch.names(tasksByCategory.keySet(), Category::getName, Category::getLowerCaseName);
+    }
+
+    /**
+     * @return The current names of the priorities the stored tasks have.
+     */
+    Map<Priority, TaskSearch.Names> priorityNames() {
+        return TaskSearch.names(tasksByPriority.keySet(), Priority::getName, Priority::getLowerCaseName);
+    }
+
+    /**
+     * Opens a cursor over the tasks matching the given search, in the given order, by preparing and
+     * running the search on the calling thread.
+     *
+     * @param title        The title (or part of it) to search for, or empty for any title.
+     * @param categoryName The category name to filter by, or empty for any category.
+     * @param priorityName The priority name to filter by, or empty for any priority.
+     * @param order        The order of the tasks, or {@code null} for insertion order.
+     * @return A cursor over the matching tasks.
+     * @see #prepareSearch
+     */
+    public TaskCursor openCursor(String title, String categoryName, String priorityName, TaskOrder order) {
+        return prepareSearch(title, categoryName, priorityName, order).run();
+    }
+
+    private int compareInsertion(Task a, Task b) {
+        return Long.compare(records.get(a).sequence, records.get(b).sequence);
+    }
+
+    /**
+     * @param category The category whose tasks are requested.
+     * @return The tasks in the category, in no particular order.
+     */
+    public List<Task> getTasksInCategory(Category category) {
+        Set<Task> bucket = tasksByCategory.get(category);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+
+    /**
+     * @param priority The priority whose tasks are requested.
+     * @return The tasks with the priority, in no particular order.
+     */
+    public List<Task> getTasksWithPriority(Priority priority) {
+        Set<Task> bucket = tasksByPriority.get(priority);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+
+    /**
+     * Records a task in the derived indexes. Called after the task is stored or changed.
+     */
+    private void index(Task task) {
+        record(task);
+        statistics.taskAdded(task);
+        titleIndex.add(task);
+        addToBucket(tasksByCategory, task.getCategory(), task);
+        addToBucket(tasksByPriority, task.getPriority(), task);
+        addToBucket(tasksByDeadline, task.getDeadline(), task);
+        if (isSweepCandidate(task)) {
+            addToBucket(sweepCandidatesByDeadline, task.getDeadline(), task);
+        }
+    }
+
+    /**
+     * Removes a task from the derived indexes. Called while the task still has the state it was
+     * indexed with.
+     */
+    private void unindex(Task task) {
+        statistics.taskRemoved(task);
+        titleIndex.remove(task);
+        removeFromBucket(tasksByCategory, task.getCategory(), task);
+        removeFromBucket(tasksByPriority, task.getPriority(), task);
+        removeFromBucket(tasksByDeadline, task.getDeadline(), task);
+        if (isSweepCandidate(task)) {
+            removeFromBucket(sweepCandidatesByDeadline, task.getDeadline(), task);
+        }
+    }
+
+    /**
+     * Gives a stored task new details, moving it only in the title index and the buckets whose key
+     * changes. The statistics and the sweep candidates depend on several fields, so the task always
+     * leaves and rejoins them. If a setter fails part way, the task is indexed by the values it has.
+     */
+    private void change(Task task, String title, String description, Category category, Priority priority,
+                        LocalDate deadline, TaskStatus status) {
+        boolean titleChanged = !Objects.equals(task.getTitle(), title);
+        boolean categoryChanged = !Objects.equals(task.getCategory(), category);
+        boolean priorityChanged = !Objects.equals(task.getPriority(), priority);
+        boolean deadlineChanged = !Objects.equals(task.getDeadline(), deadline);
+
+        statistics.taskRemoved(task);
+        if (isSweepCandidate(task)) {
+            removeFromBucket(sweepCandidatesByDeadline, task.getDeadline(), task);
+        }
+        if (titleChanged) {
+            titleIndex.remove(task);
+        }
+        if (categoryChanged) {
+            removeFromBucket(tasksByCategory, task.getCategory(), task);
+        }
+        if (priorityChanged) {
+            removeFromBucket(tasksByPriority, task.getPriority(), task);
+        }
+        if (deadlineChanged) {
+            removeFromBucket(tasksByDeadline, task.getDeadline(), task);
+        }
+        try {
+            apply(task, title, description, category, priority, deadline, status);
+        } finally {
+            record(task);
+            statistics.taskAdded(task);
+            if (titleChanged) {
+                titleIndex.add(task);
+            }
+            if (categoryChanged) {
+                addToBucket(tasksByCategory, task.getCategory(), task);
+            }
+            if (priorityChanged) {
+                addToBucket(tasksByPriority, task.getPriority(), task);
+            }
+            if (deadlineChanged) {
+                addToBucket(tasksByDeadline, task.getDeadline(), task);
+            }
+            if (isSweepCandidate(task)) {
+                addToBucket(sweepCandidatesByDeadline, task.getDeadline(), task);
+            }
+        }
+    }
+
+    /**
+     * Changes the status of a stored task, updating only what depends on it, which leaves out the
+     * title index and the category, priority and deadline buckets.
+     */
+    private void changeStatus(Task task, TaskStatus status) {
+        statistics.taskRemoved(task);
+        if (isSweepCandidate(task)) {
+            removeFromBucket(sweepCandidatesByDeadline, task.getDeadline(), task);
+        }
+        task.setStatus(status);
+        statistics.taskAdded(task);
+        if (isSweepCandidate(task)) {
+            addToBucket(sweepCandidatesByDeadline, task.getDeadline(), task);
+        }
+        record(task);
+    }
+
+    /**
+     * Replaces the record of a task with its current field values. A task without a record gets one
+     * after all others, since it was just added to the store.
+     */
+    private void record(Task task) {
+        TaskRecord old = records.get(task);
+        if (old == null) {
+            TaskRecord record = new TaskRecord(task, nextInsertion++, recordList.nextSlot());
+            recordList.add(record);
+            records.put(task, record);
+        } else {
+            TaskRecord record = new TaskRecord(task, old.sequence, old.slot);
+            recordList.set(record.slot, record);
+            records.put(task, record);
+        }
+    }
+
+    /**
+     * Drops the record of a task that left the store.
+     */
+    private void forget(Task task) {
+        recordList.remove(records.remove(task).slot);
+        if (recordList.isSparse()) {
+            recordList.compact((record, slot) -> {
+                TaskRecord moved = record.movedTo(slot);
+                records.put(moved.task, moved);
+                return moved;
+            });
+        }
+    }
+
+    private void removeStoredTasks(List<Task> removed, ReminderController reminderController) {
+        if (removed.isEmpty()) {
+            return;
+        }
+        reminderController.removeRemindersForTasks(removed);
+        for (Task task : removed) {
+            tasks.remove(task.getId());
+            unindex(task);
+            forget(task);
+        }
+        notifier.fire(ModelChangeEvent.Type.REMOVED, removed);
+    }
+
+    private boolean isArchived(Task task) {
+        return archive != null && !tasks.containsKey(task.getId()) && archive.contains(task.getId());
+    }
+
+    private static boolean isSweepCandidate(Task task) {
+        return task.getStatus() != TaskStatus.COMPLETED && task.getStatus() != TaskStatus.DELAYED;
+    }
+
+    private static <K> void addToBucket(Map<K, Set<Task>> index, K key, Task task) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(task);
+    }
+
+    private static <K> void removeFromBucket(Map<K, Set<Task>> index, K key, Task task) {
+        Set<Task> bucket = index.get(key);
+        if (bucket != null && bucket.remove(task) && bucket.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
     /**
      * Returns a string representation of the TaskController object.
      *
@@ -183,7 +897,7 @@ public class TaskController {
     @Override
     public String toString() {
         return "TaskController{" +
-                "tasks=" + tasks +
+                "tasks=" + tasks.values() +
                 '}';
     }
 }
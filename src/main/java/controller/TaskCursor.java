@@ -0,0 +1,328 @@
+package controller;
+
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The TaskCursor class gives windowed access to the ordered result of a {@link TaskSearch}, so that
+ * a view can fetch only the rows it shows. The cursor holds the matching stored tasks in order,
+ * each with the field values it was placed by; archived tasks follow them and are only turned into
+ * objects when fetched. Without a query the
+ * archive is walked in place, and the cursor remembers its position, so fetching consecutive pages
+ * costs only the rows fetched.
+ * <p>
+ * The cursor does not follow the controllers by itself. Task changes are applied to it through
+ * {@link #tasksAdded}, {@link #tasksRemoved} and {@link #tasksUpdated}, which move only the tasks
+ * that changed and report where, so a view can patch the rows it shows instead of searching again.
+ * A changed task is found by a binary search for the values it was placed by, which the search's
+ * order sorts apart from any other task's. These methods must be called on the controllers' thread.
+ */
+public class TaskCursor {
+    /**
+     * Receives the positions at which a cursor changed while it is patched. Each position refers to
+     * the cursor as left by the preceding calls.
+     */
+    public interface Changes {
+        /**
+         * A task was taken out of the cursor.
+         */
+        void removed(int position, Task task);
+
+        /**
+         * A task was put into the cursor.
+         */
+        void added(int position, Task task);
+    }
+
+    /**
+     * The largest batch of tasks whose places are looked up one by one when they are taken out;
+     * larger batches are taken out in one pass over the cursor.
+     */
+    private static final int MAX_LOOKED_UP = 64;
+
+    private final TaskSearch search;
+    private List<TaskSearch.Row> stored;
+    private final Map<Task, TaskSearch.Row> placed;
+    private final TaskArchive archive;
+    private final int[] archiveMatches;
+    private int archiveMatchCount;
+    private final BitSet archiveWithdrawn;
+    private long archiveVersion;
+    private int archiveSize;
+
+    private int walkPosition;
+    private int walkRank;
+    private long walkVersion;
+
+    /**
+     * Constructs a cursor over the result of a search.
+     *
+     * @param stored           The field values of the matching stored tasks, in the search's order.
+     * @param archive          The archive, or {@code null} if there is none.
+     * @param archiveMatches   The positions of the matching archived tasks, or {@code null} to
+     *                         list every archived task.
+     * @param archiveWithdrawn The positions of the tasks that had left the archive when the search
+     *                         was prepared.
+     * @param archiveVersion   The archive's version when the search was prepared.
+     */
+    TaskCursor(TaskSearch search, List<TaskSearch.Row> stored, TaskArchive archive, int[] archiveMatches,
+               BitSet archiveWithdrawn, long archiveVersion) {
+        this.search = search;
+        this.stored = stored;
+        this.placed = new IdentityHashMap<>(stored.size());
+        for (TaskSearch.Row row : stored) {
+            placed.put(row.task, row);
+        }
+        this.archive = archive;
+        this.archiveMatches = archiveMatches;
+        this.archiveWithdrawn = archiveWithdrawn;
+        this.archiveVersion = archiveVersion;
+        if (archive == null) {
+            this.archiveSize = 0;
+        } else if (archiveMatches != null) {
+            this.archiveMatchCount = archiveMatches.length;
+            this.archiveSize = archiveMatches.length;
+        } else {
+            this.archiveSize = archive.recordCount() - archiveWithdrawn.cardinality();
+        }
+        this.walkVersion = -1;
+    }
+
+    /**
+     * @return The number of tasks in the cursor.
+     */
+    public int size() {
+        return stored.size() + archiveSize;
+    }
+
+    /**
+     * @return The search the cursor holds the result of.
+     */
+    public TaskSearch getSearch() {
+        return search;
+    }
+
+    /**
+     * Tells whether tasks left the archive without being reported to this cursor, as happens when
+     * a category with archived tasks that were never turned into objects is deleted. Such a cursor
+     * no longer lists the right archived tasks and should be replaced by running its search again.
+     *
+     * @return Whether the cursor missed changes.
+     */
+    public boolean isStale() {
+        return archive != null && archive.getVersion() != archiveVersion;
+    }
+
+    /**
+     * Fetches a window of tasks.
+     *
+     * @param offset The position of the first task to fetch.
+     * @param limit  The maximum number of tasks to fetch.
+     * @return The tasks in the window, fewer than {@code limit} at the end of the sequence or when
+     * the cursor is stale.
+     */
+    public List<Task> fetch(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        List<Task> window = new ArrayList<>(limit);
+        for (int i = offset; i < Math.min(stored.size(), offset + limit); i++) {
+            window.add(stored.get(i).task);
+        }
+        if (window.size() < limit && offset + window.size() >= stored.size() && archive != null) {
+            int archiveOffset = offset + window.size() - stored.size();
+            window.addAll(archiveMatches != null
+                    ? fetchArchiveMatches(archiveOffset, limit - window.size())
+                    : walkArchive(archiveOffset, limit - window.size()));
+        }
+        return window;
+    }
+
+    /**
+     * Applies tasks added to the store, including archived tasks that moved into it.
+     *
+     * @param added   The added tasks.
+     * @param changes Receives where the cursor changed.
+     */
+    public void tasksAdded(List<Task> added, Changes changes) {
+        withdrawArchived(added, changes);
+        insertStored(matching(added), changes);
+    }
+
+    /**
+     * Applies tasks removed from the store or the archive.
+     *
+     * @param removed The removed tasks.
+     * @param changes Receives where the cursor changed.
+     */
+    public void tasksRemoved(List<Task> removed, Changes changes) {
+        removeStored(removed, changes);
+        withdrawArchived(removed, changes);
+    }
+
+    /**
+     * Applies changes to stored tasks. Without a query or order no task changes its place; otherwise
+     * the updated tasks are taken out and those that still match are put back where they now belong.
+     *
+     * @param updated The updated tasks, already carrying their new state.
+     * @param changes Receives where the cursor changed.
+     */
+    public void tasksUpdated(List<Task> updated, Changes changes) {
+        if (search.isUnfiltered() && search.getOrder() == null) {
+            return;
+        }
+        removeStored(updated, changes);
+        insertStored(matching(updated), changes);
+    }
+
+    private List<Task> matching(List<Task> tasks) {
+        List<Task> matching = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (search.matches(task)) {
+                matching.add(task);
+            }
+        }
+        return matching;
+    }
+
+    private void removeStored(List<Task> tasks, Changes changes) {
+        List<TaskSearch.Row> rows = new ArrayList<>();
+        for (Task task : tasks) {
+            TaskSearch.Row row = placed.remove(task);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        if (rows.size() <= MAX_LOOKED_UP) {
+            for (TaskSearch.Row row : rows) {
+                int position = Collections.binarySearch(stored, row, search.rowOrder());
+                stored.remove(position);
+                changes.removed(position, row.task);
+            }
+            return;
+        }
+
+        // One pass over the cursor, compacting it in place
+        Set<TaskSearch.Row> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(rows);
+        int kept = 0;
+        for (int i = 0; i < stored.size(); i++) {
+            TaskSearch.Row row = stored.get(i);
+            if (gone.contains(row)) {
+                changes.removed(kept, row.task);
+            } else {
+                stored.set(kept++, row);
+            }
+        }
+        stored.subList(kept, stored.size()).clear();
+    }
+
+    private void insertStored(List<Task> tasks, Changes changes) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<TaskSearch.Row> sorted = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            TaskSearch.Row row = search.row(task);
+            sorted.add(row);
+            placed.put(task, row);
+        }
+        sorted.sort(search.rowOrder());
+        if (sorted.size() == 1) {
+            TaskSearch.Row row = sorted.get(0);
+            int position = insertionPoint(row);
+            stored.add(position, row);
+            changes.added(position, row.task);
+            return;
+        }
+
+        // Insertion points are found in the cursor as it is, then the runs between them are copied
+        int[] points = new int[sorted.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = insertionPoint(sorted.get(i));
+        }
+        List<TaskSearch.Row> merged = new ArrayList<>(stored.size() + sorted.size());
+        int copied = 0;
+        for (int i = 0; i < points.length; i++) {
+            merged.addAll(stored.subList(copied, points[i]));
+            copied = points[i];
+            changes.added(merged.size(), sorted.get(i).task);
+            merged.add(sorted.get(i));
+        }
+        merged.addAll(stored.subList(copied, stored.size()));
+        stored = merged;
+    }
+
+    private int insertionPoint(TaskSearch.Row row) {
+        int index = Collections.binarySearch(stored, row, search.rowOrder());
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private void withdrawArchived(List<Task> tasks, Changes changes) {
+        if (archive == null) {
+            return;
+        }
+        for (Task task : tasks) {
+            int position = archive.position(task.getId());
+            if (position < 0 || archiveWithdrawn.get(position)) {
+                // Never archived, or its withdrawal was already applied
+                continue;
+            }
+            if (archiveMatches == null) {
+                int rank = position - archiveWithdrawn.get(0, position).cardinality();
+                archiveSize--;
+                changes.removed(stored.size() + rank, task);
+            } else {
+                int index = Arrays.binarySearch(archiveMatches, 0, archiveMatchCount, position);
+                if (index >= 0) {
+                    System.arraycopy(archiveMatches, index + 1, archiveMatches, index, archiveMatchCount - index - 1);
+                    archiveMatchCount--;
+                    archiveSize--;
+                    changes.removed(stored.size() + index, task);
+                }
+            }
+            archiveWithdrawn.set(position);
+            archiveVersion++;
+        }
+    }
+
+    private List<Task> fetchArchiveMatches(int offset, int limit) {
+        List<Task> window = new ArrayList<>();
+        for (int i = offset; i < Math.min(archiveMatchCount, offset + limit); i++) {
+            // Tasks that left the archive unreported are skipped until the stale cursor is replaced
+            if (archive.isArchived(archiveMatches[i])) {
+                window.add(archive.get(archiveMatches[i]));
+            }
+        }
+        return window;
+    }
+
+    private List<Task> walkArchive(int offset, int limit) {
+        // Restarted when going backwards or when tasks left the archive, since the remembered
+        // position no longer has the same rank
+        if (offset < walkRank || walkVersion != archive.getVersion()) {
+            walkPosition = archive.nextPosition(0);
+            walkRank = 0;
+            walkVersion = archive.getVersion();
+        }
+        while (walkRank < offset && archive.isArchived(walkPosition)) {
+            walkPosition = archive.nextPosition(walkPosition + 1);
+            walkRank++;
+        }
+        List<Task> window = new ArrayList<>(limit);
+        while (window.size() < limit && archive.isArchived(walkPosition)) {
+            window.add(archive.get(walkPosition));
+            walkPosition = archive.nextPosition(walkPosition + 1);
+            walkRank++;
+        }
+        return window;
+    }
+}
@@ -0,0 +1,134 @@
+package controller;
+
+import model.Task;
+import model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The TaskOrder class describes how a {@link TaskCursor} sorts the tasks it lists: by one or more
+ * task fields, each ascending or descending. Orders compare the tasks' own field values, so they can
+ * be applied to copies of those values taken on another thread.
+ */
+public final class TaskOrder {
+    /**
+     * The task fields tasks can be sorted by.
+     */
+    public enum Key {
+        /** The title, then the id. */
+        TITLE,
+        /** The category name. */
+        CATEGORY,
+        /** The priority name. */
+        PRIORITY,
+        /** The deadline, then the status. */
+        DEADLINE
+    }
+
+    private final List<Key> keys;
+    private final List<Boolean> ascending;
+
+    private TaskOrder(List<Key> keys, List<Boolean> ascending) {
+        this.keys = Collections.unmodifiableList(keys);
+        this.ascending = Collections.unmodifiableList(ascending);
+    }
+
+    /**
+     * Creates an order by a single field.
+     *
+     * @param key       The field to sort by.
+     * @param ascending Whether smaller values come first.
+     * @return The new order.
+     */
+    public static TaskOrder by(Key key, boolean ascending) {
+        return new TaskOrder(List.of(), List.of()).thenBy(key, ascending);
+    }
+
+    /**
+     * Creates an order that sorts tasks this order considers equal by another field.
+     *
+     * @param key       The field to sort by.
+     * @param ascending Whether smaller values come first.
+     * @return The new order.
+     */
+    public TaskOrder thenBy(Key key, boolean ascending) {
+        if (key == null) {
+            throw new IllegalArgumentException("Sort key cannot be null.");
+        }
+        List<Key> newKeys = new ArrayList<>(keys);
+        newKeys.add(key);
+        List<Boolean> newAscending = new ArrayList<>(this.ascending);
+        newAscending.add(ascending);
+        return new TaskOrder(newKeys, newAscending);
+    }
+
+    /**
+     * @return The comparator applying this order to the current field values of tasks.
+     */
+    public Comparator<Task> comparator() {
+        return build(Task::getTitle, Task::getId, task -> task.getCategory().getName(),
+                task -> task.getPriority().getName(), Task::getDeadline, Task::getStatus);
+    }
+
+    /**
+     * @return The comparator applying this order to field values copied from tasks.
+     */
+    Comparator<TaskSearch.Row> rowComparator() {
+        return build(row -> row.title, row -> row.task.getId(), row -> row.categoryName, row -> row.priorityName,
+                row -> row.deadline, row -> row.status);
+    }
+
+    /**
+     * Builds the comparator of this order from the way its fields are read, so that comparing reads
+     * them in place instead of copying them first.
+     */
+    private <T> Comparator<T> build(Function<T, String> title, Function<T, String> id,
+                                    Function<T, String> categoryName, Function<T, String> priorityName,
+                                    Function<T, LocalDate> deadline, Function<T, TaskStatus> status) {
+        Comparator<T> comparator = null;
+        for (int i = 0; i < keys.size(); i++) {
+            Comparator<T> keyComparator = switch (keys.get(i)) {
+                case TITLE -> Comparator.comparing(title).thenComparing(id);
+                case CATEGORY -> Comparator.comparing(categoryName);
+                case PRIORITY -> Comparator.comparing(priorityName);
+                case DEADLINE -> Comparator.comparing(deadline).thenComparing(status);
+            };
+            if (!ascending.get(i)) {
+                keyComparator = keyComparator.reversed();
+            }
+            comparator = comparator == null ? keyComparator : comparator.thenComparing(keyComparator);
+        }
+        return comparator == null ? (a, b) -> 0 : comparator;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TaskOrder other = (TaskOrder) o;
+        return keys.equals(other.keys) && ascending.equals(other.ascending);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(keys, ascending);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskOrder{" +
+                "keys=" + keys +
+                ", ascending=" + ascending +
+                '}';
+    }
+}
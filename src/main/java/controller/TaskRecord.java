@@ -0,0 +1,61 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Task;
+import model.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * The TaskRecord class holds the field values of a stored task as they were when the task was last
+ * indexed. The {@link TaskController} replaces a task's record whenever it changes, so a record
+ * itself never changes and may be read on any thread. Categories and priorities are held by
+ * reference, since they can be renamed without their tasks being updated; their names are read
+ * where a record is used.
+ */
+final class TaskRecord {
+    final Task task;
+    final long sequence;
+    final int slot;
+    final String title;
+    final String lowerCaseTitle;
+    final String description;
+    final Category category;
+    final Priority priority;
+    final LocalDate deadline;
+    final TaskStatus status;
+
+    /**
+     * Records a task's current field values. Must be called on the controllers' thread.
+     *
+     * @param sequence When the task was added to the store.
+     * @param slot     Where the record is kept in the controller's record list.
+     */
+    TaskRecord(Task task, long sequence, int slot) {
+        this(task, sequence, slot, task.getTitle(), task.getLowerCaseTitle(), task.getDescription(),
+                task.getCategory(), task.getPriority(), task.getDeadline(), task.getStatus());
+    }
+
+    private TaskRecord(Task task, long sequence, int slot, String title, String lowerCaseTitle, String description,
+                       Category category, Priority priority, LocalDate deadline, TaskStatus status) {
+        this.task = task;
+        this.sequence = sequence;
+        this.slot = slot;
+        this.title = title;
+        this.lowerCaseTitle = lowerCaseTitle;
+        this.description = description;
+        this.category = category;
+        this.priority = priority;
+        this.deadline = deadline;
+        this.status = status;
+    }
+
+    /**
+     * @return A copy of this record kept in another slot.
+     */
+    TaskRecord movedTo(int newSlot) {
+        return new TaskRecord(task, sequence, newSlot, title, lowerCaseTitle, description, category, priority,
+                deadline, status);
+    }
+}
@@ -0,0 +1,225 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Task;
+import model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * The TaskSearch class is a search over the tasks that is prepared on the controllers' thread and
+ * may then be run on any other thread. Preparing it takes a frozen view of the task records, the
+ * names the categories and priorities had at that moment, and the archive state the archive search
+ * needs; it copies no task. Running it reads only those, so it never touches the controllers while
+ * they keep changing. The resulting {@link TaskCursor} reflects the tasks as they were when the
+ * search was prepared; changes reported since then are applied to it through its {@code tasks*}
+ * methods.
+ */
+public final class TaskSearch {
+    private final String titleQuery;
+    private final String categoryQuery;
+    private final String priorityQuery;
+    private final TaskOrder order;
+    private final Comparator<Row> rowOrder;
+    private final ToLongFunction<Task> sequences;
+    private final SnapshotList.View<TaskRecord> records;
+    private final List<TaskRecord> posting;
+    private final Map<Category, Names> categoryNames;
+    private final Map<Priority, Names> priorityNames;
+    private final TaskArchive archive;
+    private final Supplier<int[]> archiveSearch;
+    private final BitSet archiveWithdrawn;
+    private final long archiveVersion;
+
+    /**
+     * Prepares a search. Must be called on the controllers' thread.
+     *
+     * @param records       The records of all stored tasks, in insertion order, or {@code null} if
+     *                      the candidates are given as {@code posting}.
+     * @param posting       The records of the stored tasks that may match, in no particular order,
+     *                      or {@code null} to check every task.
+     * @param categoryNames The names of the categories the tasks have.
+     * @param priorityNames The names of the priorities the tasks have.
+     * @param sequences     Tells when each stored task was added.
+     * @param archive       The archive, or {@code null} if there is none.
+     */
+    TaskSearch(String title, String categoryName, String priorityName, TaskOrder order,
+               SnapshotList.View<TaskRecord> records, List<TaskRecord> posting, Map<Category, Names> categoryNames,
+               Map<Priority, Names> priorityNames, ToLongFunction<Task> sequences, TaskArchive archive) {
+        this.titleQuery = (title == null) ? "" : title.toLowerCase();
+        this.categoryQuery = (categoryName == null) ? "" : categoryName.toLowerCase();
+        this.priorityQuery = (priorityName == null) ? "" : priorityName.toLowerCase();
+        this.order = order;
+        // Tasks the order considers equal keep the order they were added in, so every task has one place
+        Comparator<Row> bySequence = Comparator.comparingLong(row -> row.sequence);
+        this.rowOrder = order == null ? bySequence : order.rowComparator().thenComparing(bySequence);
+        this.sequences = sequences;
+        this.records = records;
+        this.posting = posting;
+        this.categoryNames = categoryNames;
+        this.priorityNames = priorityNames;
+        this.archive = archive;
+        if (archive == null) {
+            this.archiveSearch = null;
+            this.archiveWithdrawn = null;
+            this.archiveVersion = 0;
+        } else {
+            // Without a query the cursor walks the archive itself, which needs no search
+            this.archiveSearch = isUnfiltered() ? null : archive.prepareSearch(titleQuery, categoryQuery, priorityQuery);
+            this.archiveWithdrawn = archive.copyWithdrawn();
+            this.archiveVersion = archive.getVersion();
+        }
+    }
+
+    /**
+     * Captures the current names of categories or priorities. Must be called on the controllers'
+     * thread.
+     */
+    static <T> Map<T, Names> names(Collection<T> owners, Function<T, String> name, Function<T, String> lowerCaseName) {
+        // Keyed by identity, since renaming changes the hash code
+        Map<T, Names> names = new IdentityHashMap<>();
+        for (T owner : owners) {
+            names.put(owner, new Names(name.apply(owner), lowerCaseName.apply(owner)));
+        }
+        return names;
+    }
+
+    /**
+     * Runs the search. Does not touch the controllers, so it may be called on any thread.
+     *
+     * @return A cursor over the matching tasks, in the search's order.
+     */
+    public TaskCursor run() {
+        List<Row> matching = posting == null && isUnfiltered() ? new ArrayList<>(records.size()) : new ArrayList<>();
+        Consumer<TaskRecord> check = record -> {
+            Names category = categoryNames.get(record.category);
+            Names priority = priorityNames.get(record.priority);
+            if (matches(record.lowerCaseTitle, category.lowerCaseName, priority.lowerCaseName)) {
+                matching.add(new Row(record, category, priority));
+            }
+        };
+        if (posting == null) {
+            // The records are in insertion order already
+            records.forEach(check);
+            if (order != null) {
+                matching.sort(rowOrder);
+            }
+        } else {
+            posting.forEach(check);
+            matching.sort(rowOrder);
+        }
+        int[] archiveMatches = archiveSearch == null ? null : archiveSearch.get();
+        return new TaskCursor(this, matching, archive, archiveMatches, archiveWithdrawn, archiveVersion);
+    }
+
+    /**
+     * @return Whether the search has no query, so that every task matches.
+     */
+    public boolean isUnfiltered() {
+        return titleQuery.isEmpty() && categoryQuery.isEmpty() && priorityQuery.isEmpty();
+    }
+
+    /**
+     * @return The order of the search, or {@code null} for insertion order.
+     */
+    public TaskOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * Checks a task's current field values against the query. Must be called on the controllers'
+     * thread.
+     */
+    boolean matches(Task task) {
+        return matches(task.getLowerCaseTitle(), task.getCategory().getLowerCaseName(),
+                task.getPriority().getLowerCaseName());
+    }
+
+    /**
+     * Copies a task's current field values. Must be called on the controllers' thread, for a stored
+     * task.
+     */
+    Row row(Task task) {
+        return new Row(task, sequences.applyAsLong(task));
+    }
+
+    /**
+     * @return The order of the search, which places every task before or after any other.
+     */
+    Comparator<Row> rowOrder() {
+        return rowOrder;
+    }
+
+    private boolean matches(String lowerCaseTitle, String lowerCaseCategoryName, String lowerCasePriorityName) {
+        return (titleQuery.isEmpty() || lowerCaseTitle.contains(titleQuery))
+                && (categoryQuery.isEmpty() || lowerCaseCategoryName.contains(categoryQuery))
+                && (priorityQuery.isEmpty() || lowerCasePriorityName.contains(priorityQuery));
+    }
+
+    /**
+     * The name of a category or priority at the time a search was prepared.
+     */
+    static final class Names {
+        final String name;
+        final String lowerCaseName;
+
+        private Names(String name, String lowerCaseName) {
+            this.name = name;
+            this.lowerCaseName = lowerCaseName;
+        }
+    }
+
+    /**
+     * The field values of a task at the time a search was prepared.
+     */
+    static final class Row {
+        final Task task;
+        final long sequence;
+        final String title;
+        final String lowerCaseTitle;
+        final String categoryName;
+        final String lowerCaseCategoryName;
+        final String priorityName;
+        final String lowerCasePriorityName;
+        final LocalDate deadline;
+        final TaskStatus status;
+
+        private Row(TaskRecord record, Names category, Names priority) {
+            this.task = record.task;
+            this.sequence = record.sequence;
+            this.title = record.title;
+            this.lowerCaseTitle = record.lowerCaseTitle;
+            this.categoryName = category.name;
+            this.lowerCaseCategoryName = category.lowerCaseName;
+            this.priorityName = priority.name;
+            this.lowerCasePriorityName = priority.lowerCaseName;
+            this.deadline = record.deadline;
+            this.status = record.status;
+        }
+
+        private Row(Task task, long sequence) {
+            this.task = task;
+            this.sequence = sequence;
+            this.title = task.getTitle();
+            this.lowerCaseTitle = task.getLowerCaseTitle();
+            this.categoryName = task.getCategory().getName();
+            this.lowerCaseCategoryName = task.getCategory().getLowerCaseName();
+            this.priorityName = task.getPriority().getName();
+            this.lowerCasePriorityName = task.getPriority().getLowerCaseName();
+            this.deadline = task.getDeadline();
+            this.status = task.getStatus();
+        }
+    }
+}
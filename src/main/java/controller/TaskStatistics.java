@@ -0,0 +1,106 @@
+package controller;
+
+import model.Task;
+import model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The TaskStatistics class keeps the dashboard counters of a {@link TaskController} up to date as
+ * tasks are added, removed and changed, so reading them never requires a pass over all tasks.
+ */
+public class TaskStatistics {
+    private int totalTasks;
+    private int completedTasks;
+    private int delayedTasks;
+    private final NavigableMap<LocalDate, Integer> unfinishedByDeadline;
+
+    /**
+     * Constructs a new TaskStatistics instance with all counters at zero.
+     */
+    TaskStatistics() {
+        this.unfinishedByDeadline = new TreeMap<>();
+    }
+
+    /**
+     * Counts a task that has entered the store or has just been changed.
+     *
+     * @param task The task in its current state.
+     */
+    void taskAdded(Task task) {
+        totalTasks++;
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            completedTasks++;
+            return;
+        }
+        if (task.getStatus() == TaskStatus.DELAYED) {
+            delayedTasks++;
+        }
+        unfinishedByDeadline.merge(task.getDeadline(), 1, Integer::sum);
+    }
+
+    /**
+     * Stops counting a task that is leaving the store or is about to be changed. It must be called
+     * while the task still has the state it had when it was counted.
+     *
+     * @param task The task in the state it was counted with.
+     */
+    void taskRemoved(Task task) {
+        totalTasks--;
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            completedTasks--;
+            return;
+        }
+        if (task.getStatus() == TaskStatus.DELAYED) {
+            delayedTasks--;
+        }
+        unfinishedByDeadline.computeIfPresent(task.getDeadline(), (deadline, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * @return The number of tasks in the system.
+     */
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    /**
+     * @return The number of completed tasks.
+     */
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * @return The number of delayed tasks.
+     */
+    public int getDelayedTasks() {
+        return delayedTasks;
+    }
+
+    /**
+     * Counts the tasks that are not completed and whose deadline falls within the given range.
+     *
+     * @param from The first deadline to include.
+     * @param to   The last deadline to include.
+     * @return The number of unfinished tasks due in the range.
+     */
+    public int getUnfinishedTasksDueBetween(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (int tasksOnDay : unfinishedByDeadline.subMap(from, true, to, true).values()) {
+            count += tasksOnDay;
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskStatistics{" +
+                "totalTasks=" + totalTasks +
+                ", completedTasks=" + completedTasks +
+                ", delayedTasks=" + delayedTasks +
+                '}';
+    }
+}
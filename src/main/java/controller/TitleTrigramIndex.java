@@ -0,0 +1,125 @@
+package controller;
+
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from every three-character sequence of a lowercase task title to the tasks whose
+ * title contains it. A substring query of three or more characters can only match tasks that contain
+ * all of the query's trigrams, so the index narrows a search down to a small candidate set that is
+ * then verified with {@link String#contains}. Only stored task objects are indexed, so postings
+ * compare tasks by identity, which keeps them small and spares hashing the ids.
+ */
+class TitleTrigramIndex {
+    static final int GRAM_LENGTH = 3;
+    private static final int MAX_INTERSECTED_RATIO = 8;
+
+    private final Map<Long, Set<Task>> postings = new HashMap<>();
+
+    /**
+     * Indexes a task under the trigrams of its current title.
+     */
+    void add(Task task) {
+        String title = task.getLowerCaseTitle();
+        // A trigram that occurs twice in the title adds the task to its posting once
+        for (int i = 0; i + GRAM_LENGTH <= title.length(); i++) {
+            postings.computeIfAbsent(gram(title, i), g -> Collections.newSetFromMap(new IdentityHashMap<>(2)))
+                    .add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index. Must be called before the task's title changes.
+     */
+    void remove(Task task) {
+        String title = task.getLowerCaseTitle();
+        for (int i = 0; i + GRAM_LENGTH <= title.length(); i++) {
+            long gram = gram(title, i);
+            Set<Task> tasks = postings.get(gram);
+            if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks that may contain the given lowercase query in their title. Every task that does
+     * is returned, but some of the returned tasks may not, so callers must verify each candidate.
+     *
+     * @param lowerQuery The lowercase query, at least {@link #GRAM_LENGTH} characters long.
+     * @return The candidate tasks, in no particular order.
+     */
+    Collection<Task> candidates(String lowerQuery) {
+        List<Set<Task>> matching = new ArrayList<>();
+        for (long gram : grams(lowerQuery)) {
+            Set<Task> tasks = postings.get(gram);
+            if (tasks == null) {
+                return Collections.emptyList();
+            }
+            matching.add(tasks);
+        }
+        matching.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<Task> smallest = matching.get(0);
+        // Postings much larger than the smallest rule out few of its tasks, which callers check anyway
+        int intersected = 1;
+        while (intersected < matching.size()
+                && matching.get(intersected).size() <= (long) smallest.size() * MAX_INTERSECTED_RATIO) {
+            intersected++;
+        }
+        List<Task> result = new ArrayList<>();
+        for (Task task : smallest) {
+            boolean inAll = true;
+            for (int i = 1; i < intersected && inAll; i++) {
+                inAll = matching.get(i).contains(task);
+            }
+            if (inAll) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the smallest posting set of the given lowercase query's trigrams. Every task whose title
+     * contains the query is in it, so it is a cheaper, looser candidate set than
+     * {@link #candidates}: it is returned as is, without being intersected with the other postings.
+     *
+     * @param lowerQuery The lowercase query, at least {@link #GRAM_LENGTH} characters long.
+     * @return The live posting set, or an empty set if a trigram occurs in no title.
+     */
+    Set<Task> smallestPosting(String lowerQuery) {
+        Set<Task> smallest = null;
+        for (long gram : grams(lowerQuery)) {
+            Set<Task> tasks = postings.get(gram);
+            if (tasks == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || tasks.size() < smallest.size()) {
+                smallest = tasks;
+            }
+        }
+        return smallest;
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(gram(text, i));
+        }
+        return grams;
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
@@ -4,23 +4,30 @@ import java.util.Objects;
 
 public class Category {
     private String name;
+    private String lowerCaseName;
 
     public Category(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Category name cannot be null or empty.");
         }
         this.name = name;
+        this.lowerCaseName = name.toLowerCase();
     }
 
     public String getName() {
         return name;
     }
 
+    public String getLowerCaseName() {
+        return lowerCaseName;
+    }
+
     public void setName(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Category name cannot be null or empty.");
         }
         this.name = name;
+        this.lowerCaseName = name.toLowerCase();
     }
 
     @Override
@@ -40,6 +47,6 @@ public class Category {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name.toLowerCase());
+        return Objects.hash(lowerCaseName);
     }
 }
@@ -0,0 +1,62 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the ids of tasks and reminders. An id is a 64-bit value made of the current time in
+ * milliseconds followed by a 16-bit sequence, written as 16 hex digits, so ids sort by creation
+ * time. Values only ever increase, which rules out collisions among generated ids, and ids restored
+ * from storage are reserved so that new ones are never handed out twice, even after the clock was
+ * set back.
+ */
+public final class IdGenerator {
+    private static final int SEQUENCE_BITS = 16;
+    private static final int ID_LENGTH = 16;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final AtomicLong lastValue = new AtomicLong();
+
+    private IdGenerator() {
+    }
+
+    /**
+     * @return A new id, greater than every id generated or reserved before.
+     */
+    public static String nextId() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long value = lastValue.updateAndGet(last -> Math.max(last + 1, now));
+        return format(value);
+    }
+
+    /**
+     * Reserves an id restored from storage. Ids in the generator's format move the generator past
+     * them; ids in any other format, such as those written by older versions, cannot clash with
+     * generated ones and are kept as they are.
+     *
+     * @param id The restored id.
+     * @return The same id.
+     */
+    public static String reserve(String id) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("Id cannot be null or empty.");
+        }
+        if (id.length() == ID_LENGTH) {
+            try {
+                long value = Long.parseUnsignedLong(id, 16);
+                lastValue.accumulateAndGet(value, Math::max);
+            } catch (NumberFormatException ignored) {
+                // Not one of ours
+            }
+        }
+        return id;
+    }
+
+    private static String format(long value) {
+        char[] digits = new char[ID_LENGTH];
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            digits[i] = HEX_DIGITS[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+        return new String(digits);
+    }
+}
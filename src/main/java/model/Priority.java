@@ -4,23 +4,30 @@ import java.util.Objects;
 
 public class Priority {
     private String name;
+    private String lowerCaseName;
 
     public Priority(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Priority name cannot be null or empty.");
         }
         this.name = name;
+        this.lowerCaseName = name.toLowerCase();
     }
 
     public String getName() {
         return name;
     }
 
+    public String getLowerCaseName() {
+        return lowerCaseName;
+    }
+
     public void setName(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Priority name cannot be null or empty.");
         }
         this.name = name;
+        this.lowerCaseName = name.toLowerCase();
     }
 
     public boolean isDefault() {
@@ -39,11 +46,11 @@ public class Priority {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Priority priority = (Priority) o;
-        return Objects.equals(name.toLowerCase(), priority.name.toLowerCase());
+        return Objects.equals(lowerCaseName, priority.lowerCaseName);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name.toLowerCase());
+        return Objects.hash(lowerCaseName);
     }
 }
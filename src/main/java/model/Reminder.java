@@ -4,11 +4,20 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 public class Reminder {
+    private final String id;
     private LocalDate reminderDate;
     private ReminderType type;
     private final Task task;
 
     public Reminder(ReminderType type, Task task, LocalDate customDate) {
+        this(null, type, task, customDate);
+    }
+
+    /**
+     * Constructs a reminder with a known id, as when restoring it from storage. A {@code null} id
+     * gets a freshly generated one.
+     */
+    public Reminder(String id, ReminderType type, Task task, LocalDate customDate) {
         if (type == null) {
             throw new IllegalArgumentException("Reminder type cannot be null.");
         }
@@ -16,6 +25,7 @@ public class Reminder {
             throw new IllegalArgumentException("Task cannot be null.");
         }
 
+        this.id = id != null ? IdGenerator.reserve(id) : IdGenerator.nextId();
         this.type = type;
         this.task = task;
 
@@ -31,6 +41,10 @@ public class Reminder {
         validateProposedValues(this.type, this.reminderDate);
     }
 
+    public String getId() {
+        return id;
+    }
+
     public LocalDate getReminderDate() {
         return reminderDate;
     }
@@ -114,7 +128,8 @@ public class Reminder {
     @Override
     public String toString() {
         return "Reminder{" +
-                "reminderDate=" + reminderDate +
+                "id='" + id + '\'' +
+                ", reminderDate=" + reminderDate +
                 ", type=" + type +
                 ", taskTitle=" + task.getTitle() +
                 '}';
@@ -125,13 +140,20 @@ public class Reminder {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Reminder reminder = (Reminder) o;
-        return Objects.equals(reminderDate, reminder.reminderDate) &&
-                Objects.equals(type, reminder.type) &&
-                Objects.equals(task, reminder.task);
+        return Objects.equals(id, reminder.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(reminderDate, type, task);
+        return Objects.hash(id);
+    }
+
+    /**
+     * Checks whether another reminder is for the same task, of the same type and on the same date,
+     * regardless of its id.
+     */
+    public boolean hasSameValues(Reminder other) {
+        return other != null && Objects.equals(reminderDate, other.reminderDate)
+                && Objects.equals(type, other.type) && Objects.equals(task, other.task);
     }
 }
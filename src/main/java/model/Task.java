@@ -2,25 +2,36 @@ package model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 public class Task {
     private final String id;
     private String title;
+    private String lowerCaseTitle;
     private String description;
     private Category category;
     private Priority priority;
     private LocalDate deadline;
     private TaskStatus status;
-    private final List<Reminder> reminders;
+    // Most tasks have no reminders, so the list is only made for the first one
+    private List<Reminder> reminders = Collections.emptyList();
 
     public Task(String title, String description, Category category, Priority priority, LocalDate deadline) {
         this(title, description, category, priority, deadline, false);
     }
 
     public Task(String title, String description, Category category, Priority priority, LocalDate deadline, boolean loaded) {
+        this(null, title, description, category, priority, deadline, loaded);
+    }
+
+    /**
+     * Constructs a task with a known id, as when restoring it from storage. A {@code null} id gets
+     * a freshly generated one.
+     */
+    public Task(String id, String title, String description, Category category, Priority priority,
+                LocalDate deadline, boolean loaded) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Task title cannot be null or empty.");
         }
@@ -38,14 +49,14 @@ public class Task {
             throw new IllegalArgumentException("Task deadline cannot be in the past.");
         }
 
-        this.id = UUID.randomUUID().toString().substring(0, 8);
+        this.id = id != null ? IdGenerator.reserve(id) : IdGenerator.nextId();
         this.title = title;
+        this.lowerCaseTitle = title.toLowerCase();
         this.description = description;
         this.category = category;
         this.priority = priority;
         this.deadline = deadline;
         this.status = TaskStatus.OPEN;
-        this.reminders = new ArrayList<>();
     }
 
     public String getId() {
@@ -56,6 +67,10 @@ public class Task {
         return title;
     }
 
+    public String getLowerCaseTitle() {
+        return lowerCaseTitle;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -85,6 +100,7 @@ public class Task {
             throw new IllegalArgumentException("Task title cannot be null or empty.");
         }
         this.title = title;
+        this.lowerCaseTitle = title.toLowerCase();
     }
 
     public void setDescription(String description) {
@@ -151,6 +167,9 @@ public class Task {
                         String.format("A reminder with the date %s already exists for this task.", reminder.getReminderDate()));
             }
         }
+        if (reminders.isEmpty()) {
+            reminders = new ArrayList<>(1);
+        }
         reminders.add(reminder);
     }
 
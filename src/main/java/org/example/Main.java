@@ -2,7 +2,7 @@ package org.example;
 
 import controller.*;
 import javafx.application.Application;
-import javafx.collections.FXCollections;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -14,18 +14,32 @@ import model.Priority;
 
 import view.*;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.function.Function;
 
 public class Main extends Application {
+    private static final int MAX_LISTED_REMINDERS = 20;
+    // Set to "binary" to store data in the binary format instead of JSON, or to "mapped" to also keep
+    // completed tasks in an archive that is read from disk on demand
+    private static final String FORMAT_PROPERTY = "medialab.format";
+    // Set to "true" to indent saved JSON files for reading by hand; they are written compact otherwise
+    private static final String PRETTY_PROPERTY = "medialab.pretty";
 
     private TaskController taskController;
     private ReminderController reminderController;
     private CategoryController categoryController;
     private PriorityController priorityController;
     private DataController dataController;
+    private DelayedTaskSweeper delayedTaskSweeper;
+    private ReminderDispatcher reminderDispatcher;
+    private Journal journal;
+    private SnapshotCompactor snapshotCompactor;
+    private LiveTaskSearch taskSearch;
 
     private TableView<Object> taskTable = new TableView<>();
     private TableView<Object> categoryTable = new TableView<>();
@@ -37,17 +51,21 @@ public class Main extends Application {
 
     @Override
     public void start(Stage primaryStage) {
-        dataController = new DataController();
+        dataController = new DataController(Boolean.getBoolean(PRETTY_PROPERTY), storageFormat());
         taskController = new TaskController();
         reminderController = new ReminderController();
         categoryController = new CategoryController();
         priorityController = new PriorityController();
+        taskSearch = new LiveTaskSearch(taskController, searchQuery);
 
         List<Category> loadedCategories = dataController.loadCategories();
         List<Priority> loadedPriorities = dataController.loadPriorities();
         List<Task> loadedTasks = new ArrayList<>();
         List<Reminder> loadedReminders = new ArrayList<>();
         dataController.loadTasksAndReminders(loadedCategories, loadedPriorities, loadedTasks, loadedReminders);
+        // Opened before the replay, which renames the category and priority objects it refers to
+        TaskArchive archive = dataController.openArchive(loadedCategories, loadedPriorities);
+        dataController.replayJournal(loadedCategories, loadedPriorities, loadedTasks, loadedReminders, archive);
 
         for (Category category : loadedCategories) {
             categoryController.addCategory(category);
@@ -59,15 +77,22 @@ public class Main extends Application {
                 // For Default priority skip
             }
         }
-        for (Task task : loadedTasks) {
-            taskController.addTask(task, priorityController);
-        }
+        taskController.addTasks(loadedTasks, priorityController);
+        taskController.attachArchive(archive);
         for (Reminder reminder : loadedReminders) {
             reminderController.addReminder(reminder);
         }
 
         taskController.updateDelayedTasks();
 
+        journal = dataController.openJournal();
+        if (journal != null) {
+            journal.attach(taskController, reminderController, categoryController, priorityController);
+            snapshotCompactor = new SnapshotCompactor(taskController, reminderController, categoryController,
+                    priorityController, dataController, journal, Platform::runLater);
+            snapshotCompactor.start();
+        }
+
         // ***************************
         // UI Layout
         // ***************************
@@ -121,33 +146,20 @@ public class Main extends Application {
         });
 
         Runnable refreshDashboard = () -> {
-            totalTasksLabel.setText("Total Tasks: " + taskController.getTasks().size());
-            completedTasksLabel.setText("Completed: " +
-                    taskController.getTasks().stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count());
-            delayedTasksLabel.setText("Delayed: " +
-                    taskController.getTasks().stream().filter(t -> t.getStatus() == TaskStatus.DELAYED).count());
+            TaskStatistics statistics = taskController.getStatistics();
+            LocalDate today = LocalDate.now();
+            int archived = taskController.getArchivedTaskCount();
+            totalTasksLabel.setText("Total Tasks: " + (statistics.getTotalTasks() + archived));
+            completedTasksLabel.setText("Completed: " + (statistics.getCompletedTasks() + archived));
+            delayedTasksLabel.setText("Delayed: " + statistics.getDelayedTasks());
             dueSoonTasksLabel.setText("Due in 7 Days: " +
-                    taskController.getTasks().stream()
-                            .filter(t -> !t.getDeadline().isBefore(LocalDate.now()) &&
-                                    !t.getDeadline().isAfter(LocalDate.now().plusDays(7)) &&
-                                    t.getStatus() != TaskStatus.COMPLETED)
-                            .count());
+                    statistics.getUnfinishedTasksDueBetween(today, today.plusDays(7)));
         };
         refreshDashboard.run();
 
+        // Row lists are patched by the controller listeners below, so after an edit the views only
+        // need the visible cells redrawn.
         Runnable refreshAll = () -> {
-            refreshDashboard.run();
-
-            taskTable.setItems(FXCollections.observableArrayList(taskController.getTasks()));
-            categoryTable.setItems(FXCollections.observableArrayList(categoryController.getCategories()));
-            priorityTable.setItems(FXCollections.observableArrayList(priorityController.getPriorities()));
-            reminderTable.setItems(FXCollections.observableArrayList(reminderController.getAllReminders()));
-
-            if (!searchQuery.titleQuery.isEmpty() || !searchQuery.categoryQuery.isEmpty() || !searchQuery.priorityQuery.isEmpty()) {
-                var filteredTasks = taskController.searchTasks(searchQuery.titleQuery, searchQuery.categoryQuery, searchQuery.priorityQuery);
-                taskTable.setItems(FXCollections.observableArrayList(filteredTasks));
-            }
-
             taskTable.refresh();
             categoryTable.refresh();
             priorityTable.refresh();
@@ -163,13 +175,37 @@ public class Main extends Application {
 
         Tab taskTab = TaskManagementView.createTaskManagementTab(
                 taskController, categoryController, priorityController, reminderController,
-                taskTable, refreshAll, searchQuery
+                taskTable, refreshAll, taskSearch
         );
         Tab categoryPriorityTab = CategoryPriorityManagementView.createCategoryPriorityManagementTab(taskController, categoryController, priorityController, reminderController, categoryTable, priorityTable, refreshAll);
         Tab reminderTab = ReminderManagementView.createReminderManagementTab(taskController, reminderController, reminderTable, refreshAll);
 
         operationsPanel.getTabs().addAll(taskTab, categoryPriorityTab, reminderTab);
 
+        taskController.addTaskListener(event -> {
+            switch (event.getType()) {
+                case ADDED -> taskSearch.tasksAdded(event.getItems());
+                case REMOVED -> taskSearch.tasksRemoved(event.getItems());
+                case UPDATED -> taskSearch.tasksUpdated(event.getItems());
+            }
+            refreshDashboard.run();
+        });
+        reminderController.addReminderListener(event -> applyChange(reminderTable, event));
+        categoryController.addCategoryListener(event -> {
+            applyChange(categoryTable, event);
+            if (event.getType() != ModelChangeEvent.Type.ADDED) {
+                taskSearch.categoriesOrPrioritiesChanged();
+            }
+            // Deleting a category also drops archived tasks that were never loaded and fire no events
+            refreshDashboard.run();
+        });
+        priorityController.addPriorityListener(event -> {
+            applyChange(priorityTable, event);
+            if (event.getType() != ModelChangeEvent.Type.ADDED) {
+                taskSearch.categoriesOrPrioritiesChanged();
+            }
+        });
+
         VBox.setVgrow(operationsPanel, javafx.scene.layout.Priority.ALWAYS);
 
         root.getChildren().addAll(dashboardContainer, operationsPanel);
@@ -184,9 +220,15 @@ public class Main extends Application {
 
         primaryStage.show();
 
-        long delayedCount = taskController.getTasks().stream()
-                .filter(task -> task.getStatus() == TaskStatus.DELAYED)
-                .count();
+        // The sweep fires UPDATED for the tasks it delays, which patches their rows and the dashboard
+        delayedTaskSweeper = new DelayedTaskSweeper(taskController, Clock.systemDefaultZone(), Platform::runLater);
+        delayedTaskSweeper.start();
+
+        reminderDispatcher = new ReminderDispatcher(reminderController, Clock.systemDefaultZone(), Platform::runLater,
+                Main::showDueReminders);
+        reminderDispatcher.start();
+
+        long delayedCount = taskController.getStatistics().getDelayedTasks();
         if (delayedCount > 0) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.getDialogPane().getStylesheets().add(Main.class.getResource("/style.css").toExternalForm());
@@ -201,9 +243,75 @@ public class Main extends Application {
 
     @Override
     public void stop() {
-        dataController.saveCategories(categoryController.getCategories());
-        dataController.savePriorities(priorityController.getPriorities());
-        dataController.saveTasksAndReminders(taskController.getTasks());
+        if (delayedTaskSweeper != null) {
+            delayedTaskSweeper.stop();
+        }
+        if (reminderDispatcher != null) {
+            reminderDispatcher.stop();
+        }
+        if (taskSearch != null) {
+            taskSearch.shutdown();
+        }
+        if (snapshotCompactor != null) {
+            snapshotCompactor.stop();
+        }
+        boolean saved = dataController.archiveCompleted(
+                StoreSnapshot.capture(taskController, reminderController, categoryController, priorityController,
+                        journal)) >= 0;
+        if (journal != null) {
+            // The journal is only emptied once the full save holds everything it recorded
+            if (saved) {
+                journal.reset();
+            }
+            journal.close();
+        }
+    }
+
+    private static DataController.StorageFormat storageFormat() {
+        String format = System.getProperty(FORMAT_PROPERTY, "json");
+        try {
+            return DataController.StorageFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage format " + format + ", using JSON.");
+            return DataController.StorageFormat.JSON;
+        }
+    }
+
+    private static void showDueReminders(List<Reminder> dueReminders) {
+        StringBuilder content = new StringBuilder();
+        for (Reminder reminder : dueReminders.subList(0, Math.min(dueReminders.size(), MAX_LISTED_REMINDERS))) {
+            content.append(reminder.getTask().getTitle())
+                    .append(" (due ").append(reminder.getTask().getDeadline()).append(")\n");
+        }
+        if (dueReminders.size() > MAX_LISTED_REMINDERS) {
+            content.append("and ").append(dueReminders.size() - MAX_LISTED_REMINDERS).append(" more");
+        }
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.getDialogPane().getStylesheets().add(Main.class.getResource("/style.css").toExternalForm());
+        alert.getDialogPane().getStyleClass().add("alert");
+        alert.setTitle("Reminders");
+        alert.setHeaderText("Reminders due today: " + dueReminders.size());
+        alert.setContentText(content.toString());
+        alert.show();
+    }
+
+    /**
+     * Patches the rows of a table with a change reported by a controller, instead of rebuilding its
+     * items. Updated rows keep their position and are redrawn by the next refresh.
+     */
+    private static void applyChange(TableView<Object> table, ModelChangeEvent<?> event) {
+        switch (event.getType()) {
+            case ADDED -> table.getItems().addAll(event.getItems());
+            case REMOVED -> {
+                if (event.getItems().size() == 1) {
+                    table.getItems().remove(event.getItems().get(0));
+                } else {
+                    table.getItems().removeAll(new HashSet<>(event.getItems()));
+                }
+            }
+            case UPDATED -> {
+            }
+        }
     }
 
     public static class AttributeColumnSpec {
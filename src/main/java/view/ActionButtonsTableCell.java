@@ -0,0 +1,71 @@
+package view;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableCell;
+import javafx.scene.layout.HBox;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Table cell with two action buttons shared by the management tables. The button handlers are set
+ * once and look up the row item when clicked, so reusing the cell while scrolling creates no handlers.
+ * The class is final because the handlers set in its constructor call back into the cell.
+ */
+public final class ActionButtonsTableCell extends TableCell<Object, Void> {
+    private final Button firstButton;
+    private final Button secondButton;
+    private final HBox actionButtons = new HBox(5);
+    private final Predicate<Object> disabledFor;
+
+    public ActionButtonsTableCell(String firstLabel, Consumer<Object> firstAction,
+                                  String secondLabel, Consumer<Object> secondAction) {
+        this(firstLabel, firstAction, secondLabel, secondAction, item -> false);
+    }
+
+    public ActionButtonsTableCell(String firstLabel, Consumer<Object> firstAction,
+                                  String secondLabel, Consumer<Object> secondAction,
+                                  Predicate<Object> disabledFor) {
+        this.firstButton = new Button(firstLabel);
+        this.secondButton = new Button(secondLabel);
+        this.disabledFor = disabledFor;
+
+        actionButtons.setAlignment(Pos.CENTER);
+        firstButton.setPrefWidth(80);
+        secondButton.setPrefWidth(80);
+        actionButtons.getChildren().addAll(firstButton, secondButton);
+
+        firstButton.setOnAction(event -> runFor(firstAction));
+        secondButton.setOnAction(event -> runFor(secondAction));
+    }
+
+    @Override
+    protected void updateItem(Void item, boolean empty) {
+        super.updateItem(item, empty);
+        Object rowItem = currentRowItem();
+        if (empty || rowItem == null) {
+            setGraphic(null);
+        } else {
+            boolean disabled = disabledFor.test(rowItem);
+            firstButton.setDisable(disabled);
+            secondButton.setDisable(disabled);
+            setGraphic(actionButtons);
+        }
+    }
+
+    private void runFor(Consumer<Object> action) {
+        Object rowItem = currentRowItem();
+        if (rowItem != null) {
+            action.accept(rowItem);
+        }
+    }
+
+    private Object currentRowItem() {
+        int index = getIndex();
+        if (getTableView() == null || index < 0 || index >= getTableView().getItems().size()) {
+            return null;
+        }
+        return getTableView().getItems().get(index);
+    }
+}
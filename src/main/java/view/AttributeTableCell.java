@@ -0,0 +1,50 @@
+package view;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.text.Text;
+import org.example.Main;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Table cell shared by the attribute columns of the management tables. The column hands the cell
+ * the row object itself. The extractor runs on every update, since the row object may have changed
+ * in place, but the wrapped {@link Text} is only touched when the rendered string actually changes.
+ * The class is final because its constructor wires the cell to itself.
+ */
+public final class AttributeTableCell extends TableCell<Object, Object> {
+    private final Function<Object, String> extractor;
+    private final Text text = new Text();
+    private String renderedText;
+
+    public AttributeTableCell(Function<Object, String> extractor) {
+        this.extractor = extractor;
+        text.wrappingWidthProperty().bind(widthProperty().subtract(10));
+        setGraphic(text);
+    }
+
+    /**
+     * Creates a column for the given attribute, sorted by the extracted strings.
+     */
+    public static TableColumn<Object, Object> createColumn(Main.AttributeColumnSpec spec) {
+        TableColumn<Object, Object> col = new TableColumn<>(spec.getHeader());
+        col.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue()));
+        col.setCellFactory(tc -> new AttributeTableCell(spec.getExtractor()));
+        col.setComparator(Comparator.comparing(spec.getExtractor()));
+        return col;
+    }
+
+    @Override
+    protected void updateItem(Object item, boolean empty) {
+        super.updateItem(item, empty);
+        String value = (empty || item == null) ? null : extractor.apply(item);
+        if (!Objects.equals(value, renderedText)) {
+            renderedText = value;
+            text.setText(value);
+        }
+    }
+}
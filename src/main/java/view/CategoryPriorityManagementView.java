@@ -4,7 +4,6 @@ import controller.PriorityController;
 import controller.ReminderController;
 import controller.TaskController;
 import controller.CategoryController;
-import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -143,89 +142,37 @@ public class CategoryPriorityManagementView {
         table.setPrefWidth(385);
         table.setMaxWidth(385);
 
-        List<TableColumn<Object, String>> attributeColumns = new ArrayList<>();
+        List<TableColumn<Object, Object>> attributeColumns = new ArrayList<>();
         for (Main.AttributeColumnSpec spec : attributeSpecs) {
-            TableColumn<Object, String> col = new TableColumn<>(spec.getHeader());
-            col.setCellValueFactory(data -> new SimpleStringProperty(spec.getExtractor().apply(data.getValue())));
+            TableColumn<Object, Object> col = AttributeTableCell.createColumn(spec);
             col.setMinWidth(attrColMinWidth);
             col.setPrefWidth(attrColMinWidth);
-            col.setCellFactory(tc -> new TableCell<Object, String>() {
-                private final Text text = new Text();
-                {
-                    text.wrappingWidthProperty().bind(this.widthProperty().subtract(10));
-                    setGraphic(text);
-                }
-
-                @Override
-                protected void updateItem(String item, boolean empty) {
-                    super.updateItem(item, empty);
-                    text.setText(empty ? null : item);
-                }
-            });
             attributeColumns.add(col);
         }
 
         TableColumn<Object, Void> actionsColumn = new TableColumn<>("Actions");
-        actionsColumn.setCellFactory(col -> new TableCell<Object, Void>() {
-            private final Button editButton = new Button("Edit");
-            private final Button removeButton = new Button("Remove");
-            private final HBox actionButtons = new HBox(5);
-
-            {
-                actionButtons.setAlignment(Pos.CENTER);
-                editButton.setPrefWidth(80);
-                removeButton.setPrefWidth(80);
-                actionButtons.getChildren().addAll(editButton, removeButton);
-            }
-
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    Object currentItem = getTableView().getItems().get(getIndex());
-
-                    if (isCategory) {
-                        editButton.setDisable(false);
-                        removeButton.setDisable(false);
-                        editButton.setOnAction(event -> showEditCategoryDialog(currentItem, categoryController, table, refreshAll));
-                        removeButton.setOnAction(event -> showRemoveCategoryDialog(currentItem, categoryController, taskController, reminderController, table, refreshAll));
-                    } else {
-                        Priority currentPriority = (Priority) currentItem;
-                        boolean isDefaultPriority = currentPriority.equals(priorityController.getDefaultPriority());
-
-                        editButton.setDisable(isDefaultPriority);
-                        removeButton.setDisable(isDefaultPriority);
-
-                        editButton.setOnAction(event -> {
-                            if (!isDefaultPriority) {
-                                showEditPriorityDialog(currentItem, priorityController, table, refreshAll);
-                            }
-                        });
-
-                        removeButton.setOnAction(event -> {
-                            if (!isDefaultPriority) {
-                                showRemovePriorityDialog(currentItem, priorityController, taskController, table, refreshAll);
-                            }
-                        });
-                    }
-
-                    setGraphic(actionButtons);
-                }
-            }
-        });
+        if (isCategory) {
+            actionsColumn.setCellFactory(col -> new ActionButtonsTableCell(
+                    "Edit", currentItem -> showEditCategoryDialog(currentItem, categoryController, table, refreshAll),
+                    "Remove", currentItem -> showRemoveCategoryDialog(currentItem, categoryController, taskController, reminderController, table, refreshAll)));
+        } else {
+            // The default priority can be neither edited nor removed
+            actionsColumn.setCellFactory(col -> new ActionButtonsTableCell(
+                    "Edit", currentItem -> showEditPriorityDialog(currentItem, priorityController, table, refreshAll),
+                    "Remove", currentItem -> showRemovePriorityDialog(currentItem, priorityController, taskController, table, refreshAll),
+                    currentItem -> currentItem.equals(priorityController.getDefaultPriority())));
+        }
 
         actionsColumn.setPrefWidth(actionsColumnWidth);
         actionsColumn.setMinWidth(actionsColumnWidth);
         actionsColumn.setMaxWidth(actionsColumnWidth);
 
-        for (TableColumn<Object, String> col : attributeColumns) {
+        for (TableColumn<Object, Object> col : attributeColumns) {
             table.getColumns().add(col);
         }
         table.getColumns().add(actionsColumn);
         table.setItems(FXCollections.observableArrayList(
-                isCategory ? categoryController.getCategories() : priorityController.getPriorities()));
+                isCategory ? categoryController.getCategoriesView() : priorityController.getPrioritiesView()));
 
         VBox tableContainer = new VBox(table);
         tableContainer.setAlignment(Pos.CENTER);
@@ -315,7 +262,6 @@ public class CategoryPriorityManagementView {
             if (response == ButtonType.OK) {
                 try {
                     categoryController.removeCategory(currentCategory, taskController, reminderController);
-                    table.setItems(FXCollections.observableArrayList(categoryController.getCategories()));
                     refreshAll.run();
                 } catch (IllegalArgumentException e) {
                     showError("Error Removing Category", e.getMessage());
@@ -336,7 +282,6 @@ public class CategoryPriorityManagementView {
             try {
                 Category newCategory = new Category(val.trim());
                 categoryController.addCategory(newCategory);
-                table.setItems(FXCollections.observableArrayList(categoryController.getCategories()));
                 refreshAll.run();
             } catch (IllegalArgumentException e) {
                 showError("Error Adding Category", e.getMessage());
@@ -400,7 +345,6 @@ public class CategoryPriorityManagementView {
             if (response == ButtonType.OK) {
                 try {
                     priorityController.removePriority(currentPriority, taskController);
-                    table.setItems(FXCollections.observableArrayList(priorityController.getPriorities()));
                     refreshAll.run();
                 } catch (IllegalArgumentException e) {
                     showError("Error Removing Priority", e.getMessage());
@@ -421,7 +365,6 @@ public class CategoryPriorityManagementView {
             try {
                 Priority newPriority = new Priority(val.trim());
                 priorityController.addPriority(newPriority);
-                table.setItems(FXCollections.observableArrayList(priorityController.getPriorities()));
                 refreshAll.run();
             } catch (IllegalArgumentException e) {
                 showError("Error Adding Priority", e.getMessage());
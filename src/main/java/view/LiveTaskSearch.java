@@ -0,0 +1,244 @@
+package view;
+
+import controller.TaskController;
+import controller.TaskCursor;
+import controller.TaskOrder;
+import controller.TaskSearch;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+import model.Task;
+import org.example.Main;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The LiveTaskSearch class filters and sorts the task table while the user types. Queries are
+ * debounced; each one is prepared on the FX thread, which only freezes what the search reads from
+ * the {@link TaskController}, and run on a background thread into a {@link TaskCursor}. The table
+ * reads its rows from the cursor through a {@link PagedTaskList}, so it only ever holds the pages it
+ * displays. A query that is superseded before it finishes is cancelled and its result is discarded.
+ * <p>
+ * Task changes do not start a new search. They are applied to the open cursor, which moves only the
+ * changed tasks, and to the cursor of a search still running, once it arrives.
+ */
+public class LiveTaskSearch {
+    private static final Duration DEBOUNCE = Duration.millis(250);
+    private static final TaskCursor.Changes UNOBSERVED = new TaskCursor.Changes() {
+        @Override
+        public void removed(int position, Task task) {
+        }
+
+        @Override
+        public void added(int position, Task task) {
+        }
+    };
+
+    private final TaskController taskController;
+    private final Main.SearchQuery searchQuery;
+    private final PagedTaskList rows;
+    private final PauseTransition debounce;
+    private final ExecutorService executor;
+
+    private Future<?> runningSearch;
+    private Map<Task, Boolean> pendingTasks;
+    private long generation;
+    private TaskOrder order;
+
+    public LiveTaskSearch(TaskController taskController, Main.SearchQuery searchQuery) {
+        this.taskController = taskController;
+        this.searchQuery = searchQuery;
+        this.rows = new PagedTaskList();
+        this.debounce = new PauseTransition(DEBOUNCE);
+        this.debounce.setOnFinished(event -> runSearch());
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Binds the given table to the paged tasks. Column sorting is handed to the controller instead
+     * of sorting the table's items in place: each sort column is mapped to the task field it shows,
+     * and columns without one are ignored.
+     *
+     * @param table    The task table.
+     * @param sortKeys The task field each sortable column is sorted by.
+     */
+    public void bind(TableView<Object> table, Map<TableColumn<Object, ?>, TaskOrder.Key> sortKeys) {
+        table.setItems(rows);
+        table.setSortPolicy(sortedTable -> {
+            TaskOrder newOrder = null;
+            for (TableColumn<Object, ?> column : sortedTable.getSortOrder()) {
+                TaskOrder.Key key = sortKeys.get(column);
+                if (key != null) {
+                    boolean ascending = column.getSortType() == TableColumn.SortType.ASCENDING;
+                    newOrder = newOrder == null ? TaskOrder.by(key, ascending) : newOrder.thenBy(key, ascending);
+                }
+            }
+            if (!Objects.equals(newOrder, order)) {
+                order = newOrder;
+                runSearch();
+            }
+            return true;
+        });
+        runSearch();
+    }
+
+    /**
+     * Adds the new tasks that match the query to the shown rows.
+     */
+    public void tasksAdded(List<Task> added) {
+        recordPending(added, true);
+        rows.tasksAdded(added);
+        checkStale();
+    }
+
+    /**
+     * Removes the removed tasks from the shown rows.
+     */
+    public void tasksRemoved(List<Task> removed) {
+        recordPending(removed, false);
+        rows.tasksRemoved(removed);
+        checkStale();
+    }
+
+    /**
+     * Moves updated tasks that started or stopped matching the query, or whose place in the order
+     * changed, and redraws the others.
+     */
+    public void tasksUpdated(List<Task> updated) {
+        recordPending(updated, true);
+        rows.tasksUpdated(updated);
+        checkStale();
+    }
+
+    /**
+     * Brings the shown rows up to date after a category or priority was renamed or deleted. A
+     * rename changes which tasks match and how they sort without any task being updated, so an
+     * active query or sort is run again. Otherwise the rows are fetched again, since archived tasks
+     * may have changed without being reported, and a cursor that missed archived tasks leaving is
+     * replaced.
+     */
+    public void categoriesOrPrioritiesChanged() {
+        if (isActive() || order != null) {
+            runSearch();
+            return;
+        }
+        rows.refetch();
+        checkStale();
+    }
+
+    /**
+     * Schedules a search with the given query once the user stops typing.
+     */
+    public void searchLater(String title, String categoryName, String priorityName) {
+        updateQuery(title, categoryName, priorityName);
+        debounce.playFromStart();
+    }
+
+    /**
+     * Runs a search with the given query without waiting.
+     */
+    public void searchNow(String title, String categoryName, String priorityName) {
+        updateQuery(title, categoryName, priorityName);
+        debounce.stop();
+        runSearch();
+    }
+
+    /**
+     * Clears the query and shows all tasks again.
+     */
+    public void clear() {
+        updateQuery("", "", "");
+        debounce.stop();
+        runSearch();
+    }
+
+    public void shutdown() {
+        debounce.stop();
+        executor.shutdownNow();
+    }
+
+    private boolean isActive() {
+        return !searchQuery.titleQuery.isEmpty() || !searchQuery.categoryQuery.isEmpty()
+                || !searchQuery.priorityQuery.isEmpty();
+    }
+
+    private void updateQuery(String title, String categoryName, String priorityName) {
+        searchQuery.titleQuery = title.trim();
+        searchQuery.categoryQuery = categoryName.trim();
+        searchQuery.priorityQuery = priorityName.trim();
+    }
+
+    private void recordPending(List<Task> tasks, boolean stored) {
+        if (pendingTasks != null) {
+            for (Task task : tasks) {
+                pendingTasks.put(task, stored);
+            }
+        }
+    }
+
+    private void checkStale() {
+        TaskCursor cursor = rows.getCursor();
+        if (cursor != null && cursor.isStale()) {
+            runSearch();
+        }
+    }
+
+    /**
+     * Brings a cursor computed from older field values up to date with the tasks changed since. The
+     * tasks are taken out all at once before being put back, since a task changed later may still
+     * sit where its old values sorted it.
+     */
+    private static void applyPending(TaskCursor cursor, Map<Task, Boolean> pending) {
+        List<Task> stored = new ArrayList<>();
+        for (Map.Entry<Task, Boolean> entry : pending.entrySet()) {
+            if (entry.getValue()) {
+                stored.add(entry.getKey());
+            }
+        }
+        cursor.tasksRemoved(new ArrayList<>(pending.keySet()), UNOBSERVED);
+        cursor.tasksAdded(stored, UNOBSERVED);
+    }
+
+    private void runSearch() {
+        long searchGeneration = ++generation;
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+            runningSearch = null;
+            pendingTasks = null;
+        }
+        TaskSearch search = taskController.prepareSearch(
+                searchQuery.titleQuery, searchQuery.categoryQuery, searchQuery.priorityQuery, order);
+
+        // Changes made while the search runs are applied to its cursor when it arrives
+        // Compared by id, like the rows, since archived tasks may be handed out as several objects
+        Map<Task, Boolean> pending = new HashMap<>();
+        pendingTasks = pending;
+        runningSearch = executor.submit(() -> {
+            TaskCursor cursor = search.run();
+            Platform.runLater(() -> {
+                if (searchGeneration == generation) {
+                    runningSearch = null;
+                    pendingTasks = null;
+                    applyPending(cursor, pending);
+                    rows.setCursor(cursor);
+                    if (cursor.isStale()) {
+                        runSearch();
+                    }
+                }
+            });
+        });
+    }
+}
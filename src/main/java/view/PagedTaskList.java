@@ -0,0 +1,160 @@
+package view;
+
+import controller.TaskCursor;
+import javafx.collections.ObservableListBase;
+import model.Task;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Read-only observable list that serves the task table from a {@link TaskCursor}. Rows are fetched
+ * a page at a time when the table asks for them, so the list only ever holds the pages around the
+ * visible rows, however many tasks the store contains. Task changes are applied to the cursor, and
+ * the table is told only about the rows that moved or changed.
+ */
+public class PagedTaskList extends ObservableListBase<Object> {
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 8;
+
+    private final Map<Integer, List<Task>> pages = new LinkedHashMap<>(CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Task>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    private final TaskCursor.Changes changes = new TaskCursor.Changes() {
+        @Override
+        public void removed(int position, Task task) {
+            dropPagesFrom(position);
+            size--;
+            nextRemove(position, task);
+        }
+
+        @Override
+        public void added(int position, Task task) {
+            dropPagesFrom(position);
+            size++;
+            nextAdd(position, position + 1);
+        }
+    };
+
+    private TaskCursor cursor;
+    private int size;
+
+    /**
+     * Switches the list to a new cursor and tells the table that its rows changed.
+     */
+    public void setCursor(TaskCursor newCursor) {
+        int oldSize = size;
+        pages.clear();
+        cursor = newCursor;
+        size = newCursor == null ? 0 : newCursor.size();
+
+        int kept = Math.min(oldSize, size);
+        beginChange();
+        if (kept > 0) {
+            nextReplace(0, kept, Collections.nCopies(kept, null));
+        }
+        if (size > oldSize) {
+            nextAdd(oldSize, size);
+        } else if (oldSize > size) {
+            nextRemove(size, Collections.nCopies(oldSize - size, null));
+        }
+        endChange();
+    }
+
+    /**
+     * Drops the cached pages and tells the table that its rows changed, so that they are fetched
+     * again from the cursor. Archived tasks on the dropped pages may be copies the archive evicted
+     * from its cache, which it no longer updates when a category or priority changes.
+     */
+    public void refetch() {
+        setCursor(cursor);
+    }
+
+    /**
+     * @return The cursor the rows come from, or {@code null} if there is none yet.
+     */
+    public TaskCursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Applies tasks added to the store to the cursor.
+     */
+    public void tasksAdded(List<Task> added) {
+        patch(cursor -> cursor.tasksAdded(added, changes), List.of());
+    }
+
+    /**
+     * Applies tasks removed from the store to the cursor.
+     */
+    public void tasksRemoved(List<Task> removed) {
+        patch(cursor -> cursor.tasksRemoved(removed, changes), List.of());
+    }
+
+    /**
+     * Applies updated tasks to the cursor. Rows that keep their place are reported as updated when
+     * they are on a cached page, which holds every row the table shows.
+     */
+    public void tasksUpdated(List<Task> updated) {
+        patch(cursor -> cursor.tasksUpdated(updated, changes), updated);
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int page = index / PAGE_SIZE;
+        List<Task> rows = pages.get(page);
+        if (rows == null) {
+            rows = cursor.fetch(page * PAGE_SIZE, PAGE_SIZE);
+            pages.put(page, rows);
+        }
+        int offset = index - page * PAGE_SIZE;
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void patch(Consumer<TaskCursor> change, List<Task> updated) {
+        if (cursor == null) {
+            return;
+        }
+        beginChange();
+        try {
+            change.accept(cursor);
+            if (!updated.isEmpty()) {
+                // Compared by id, since a page may hold an archived task the archive has since
+                // turned into another object
+                Set<Task> changed = new HashSet<>(updated);
+                for (Map.Entry<Integer, List<Task>> page : pages.entrySet()) {
+                    List<Task> rows = page.getValue();
+                    for (int offset = 0; offset < rows.size(); offset++) {
+                        if (changed.contains(rows.get(offset))) {
+                            nextUpdate(page.getKey() * PAGE_SIZE + offset);
+                        }
+                    }
+                }
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    private void dropPagesFrom(int position) {
+        int firstPage = position / PAGE_SIZE;
+        pages.keySet().removeIf(page -> page >= firstPage);
+    }
+}
@@ -2,13 +2,11 @@ package view;
 
 import controller.ReminderController;
 import controller.TaskController;
-import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
-import javafx.scene.text.Text;
 import javafx.util.Pair;
 import model.*;
 import org.example.Main;
@@ -74,62 +72,26 @@ public class ReminderManagementView {
         final double actionsColumnWidth = 180;
         final double attrColMinWidth = 180;
 
-        List<TableColumn<Object, String>> attributeColumns = new ArrayList<>();
+        List<TableColumn<Object, Object>> attributeColumns = new ArrayList<>();
         for (Main.AttributeColumnSpec spec : attributeSpecs) {
-            TableColumn<Object, String> col = new TableColumn<>(spec.getHeader());
-            col.setCellValueFactory(data -> new SimpleStringProperty(spec.getExtractor().apply(data.getValue())));
+            TableColumn<Object, Object> col = AttributeTableCell.createColumn(spec);
             col.setMinWidth(attrColMinWidth);
-            col.setCellFactory(tc -> new TableCell<Object, String>() {
-                private final Text text = new Text();
-                {
-                    text.wrappingWidthProperty().bind(this.widthProperty().subtract(10));
-                    setGraphic(text);
-                }
-
-                @Override
-                protected void updateItem(String item, boolean empty) {
-                    super.updateItem(item, empty);
-                    text.setText(empty ? null : item);
-                }
-            });
             attributeColumns.add(col);
         }
 
         TableColumn<Object, Void> actionsColumn = new TableColumn<>("Actions");
-        actionsColumn.setCellFactory(col -> new TableCell<Object, Void>() {
-            private final Button editButton = new Button("Edit");
-            private final Button removeButton = new Button("Remove");
-            private final HBox actionButtons = new HBox(5);
-
-            {
-                actionButtons.setAlignment(Pos.CENTER);
-                editButton.setPrefWidth(80);
-                removeButton.setPrefWidth(80);
-                actionButtons.getChildren().addAll(editButton, removeButton);
-            }
-
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    Object currentItem = getTableView().getItems().get(getIndex());
-                    editButton.setOnAction(event -> showEditReminderDialog(currentItem, reminderController, table, refreshAll));
-                    removeButton.setOnAction(event -> showRemoveReminderDialog(currentItem, reminderController, table, refreshAll));
-                    setGraphic(actionButtons);
-                }
-            }
-        });
+        actionsColumn.setCellFactory(col -> new ActionButtonsTableCell(
+                "Edit", currentItem -> showEditReminderDialog(currentItem, reminderController, table, refreshAll),
+                "Remove", currentItem -> showRemoveReminderDialog(currentItem, reminderController, table, refreshAll)));
         actionsColumn.setPrefWidth(actionsColumnWidth);
         actionsColumn.setMinWidth(actionsColumnWidth);
         actionsColumn.setMaxWidth(actionsColumnWidth);
 
-        for (TableColumn<Object, String> col : attributeColumns) {
+        for (TableColumn<Object, Object> col : attributeColumns) {
             table.getColumns().add(col);
         }
         table.getColumns().add(actionsColumn);
-        table.setItems(FXCollections.observableArrayList(reminderController.getAllReminders()));
+        table.setItems(FXCollections.observableArrayList(reminderController.getAllRemindersView()));
 
         // ---------------------------
         // SCROLL PANE FOR TAB
@@ -276,7 +238,6 @@ public class ReminderManagementView {
             if (response == ButtonType.OK) {
                 try {
                     reminderController.removeReminder(currentReminder);
-                    table.setItems(FXCollections.observableArrayList(reminderController.getAllReminders()));
                     refreshAll.run();
                 } catch (IllegalArgumentException e) {
                     showError("Error Removing Reminder", e.getMessage());
@@ -319,7 +280,7 @@ public class ReminderManagementView {
             datePicker.setDisable(newVal != ReminderType.CUSTOM_DATE);
         });
 
-        ComboBox<Task> taskComboBox = new ComboBox<>(FXCollections.observableArrayList(taskController.getTasks()));
+        ComboBox<Task> taskComboBox = new ComboBox<>(FXCollections.observableArrayList(taskController.getTasksView()));
 
         taskComboBox.setCellFactory(lv -> new ListCell<>() {
             @Override
@@ -387,7 +348,6 @@ public class ReminderManagementView {
         result.ifPresent(newReminder -> {
             try {
                 reminderController.addReminder(newReminder);
-                table.setItems(FXCollections.observableArrayList(reminderController.getAllReminders()));
                 refreshAll.run();
             } catch (IllegalArgumentException e) {
                 showError("Error Adding Reminder", e.getMessage());
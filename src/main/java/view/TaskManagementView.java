@@ -4,7 +4,8 @@ import controller.ReminderController;
 import controller.TaskController;
 import controller.CategoryController;
 import controller.PriorityController;
-import javafx.beans.property.SimpleStringProperty;
+import controller.TaskOrder;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -20,7 +21,9 @@ import org.example.Main;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -32,10 +35,10 @@ public class TaskManagementView {
                                               ReminderController reminderController,
                                               TableView<Object> table,
                                               Runnable refreshAll,
-                                              Main.SearchQuery searchQuery) {
+                                              LiveTaskSearch taskSearch) {
         Tab tab = new Tab("Task Management");
         tab.setContent(createTaskManagementPane(taskController, categoryController, priorityController,
-                                                reminderController, table, refreshAll, searchQuery));
+                                                reminderController, table, refreshAll, taskSearch));
         return tab;
     }
 
@@ -45,7 +48,7 @@ public class TaskManagementView {
                                                 ReminderController reminderController,
                                                 TableView<Object> table,
                                                 Runnable refreshAll,
-                                                Main.SearchQuery searchQuery) {
+                                                LiveTaskSearch taskSearch) {
 
 
         BorderPane root = new BorderPane();
@@ -111,29 +114,21 @@ public class TaskManagementView {
         // ---------------------------
         // SEARCH FUNCTIONALITY
         // ---------------------------
-        searchButton.setOnAction(event -> {
-            searchQuery.titleQuery = titleSearchField.getText().trim();
-            searchQuery.categoryQuery = categorySearchField.getText().trim();
-            searchQuery.priorityQuery = prioritySearchField.getText().trim();
-
-            var filteredTasks = taskController.searchTasks(
-                    searchQuery.titleQuery, searchQuery.categoryQuery, searchQuery.priorityQuery
-            );
-            table.setItems(FXCollections.observableArrayList(filteredTasks));
-            table.refresh();
-        });
+        searchButton.setOnAction(event -> taskSearch.searchNow(
+                titleSearchField.getText(), categorySearchField.getText(), prioritySearchField.getText()));
 
-        clearFiltersButton.setOnAction(event -> {
-            searchQuery.titleQuery = "";
-            searchQuery.categoryQuery = "";
-            searchQuery.priorityQuery = "";
+        ChangeListener<String> searchAsYouType = (obs, oldText, newText) -> taskSearch.searchLater(
+                titleSearchField.getText(), categorySearchField.getText(), prioritySearchField.getText());
+        titleSearchField.textProperty().addListener(searchAsYouType);
+        categorySearchField.textProperty().addListener(searchAsYouType);
+        prioritySearchField.textProperty().addListener(searchAsYouType);
 
+        clearFiltersButton.setOnAction(event -> {
             titleSearchField.clear();
             categorySearchField.clear();
             prioritySearchField.clear();
 
-            table.setItems(FXCollections.observableArrayList(taskController.getTasks()));
-            table.refresh();
+            taskSearch.clear();
         });
 
         // ---------------------------
@@ -154,62 +149,34 @@ public class TaskManagementView {
         final double actionsColumnWidth = 180;
         final double attrColMinWidth = 180;
 
-        List<TableColumn<Object, String>> attributeColumns = new ArrayList<>();
+        List<TableColumn<Object, Object>> attributeColumns = new ArrayList<>();
         for (Main.AttributeColumnSpec spec : attributeSpecs) {
-            TableColumn<Object, String> col = new TableColumn<>(spec.getHeader());
-            col.setCellValueFactory(data -> new SimpleStringProperty(spec.getExtractor().apply(data.getValue())));
+            TableColumn<Object, Object> col = AttributeTableCell.createColumn(spec);
             col.setMinWidth(attrColMinWidth);
-            col.setCellFactory(tc -> new TableCell<Object, String>() {
-                private final Text text = new Text();
-                {
-                    text.wrappingWidthProperty().bind(this.widthProperty().subtract(10));
-                    setGraphic(text);
-                }
-
-                @Override
-                protected void updateItem(String item, boolean empty) {
-                    super.updateItem(item, empty);
-                    text.setText(empty ? null : item);
-                }
-            });
             attributeColumns.add(col);
         }
 
         TableColumn<Object, Void> actionsColumn = new TableColumn<>("Actions");
-        actionsColumn.setCellFactory(col -> new TableCell<Object, Void>() {
-            private final Button moreButton = new Button("More");
-            private final Button removeButton = new Button("Remove");
-            private final HBox actionButtons = new HBox(5);
-
-            {
-                actionButtons.setAlignment(Pos.CENTER);
-                moreButton.setPrefWidth(80);
-                removeButton.setPrefWidth(80);
-                actionButtons.getChildren().addAll(moreButton, removeButton);
-            }
-
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    Object currentItem = getTableView().getItems().get(getIndex());
-                    moreButton.setOnAction(event -> showTaskDetailsDialog(currentItem, taskController, categoryController, priorityController, reminderController, table, refreshAll));
-                    removeButton.setOnAction(event -> showRemoveTaskDialog(currentItem, taskController, reminderController, table, refreshAll));
-                    setGraphic(actionButtons);
-                }
-            }
-        });
+        actionsColumn.setCellFactory(col -> new ActionButtonsTableCell(
+                "More", currentItem -> showTaskDetailsDialog(currentItem, taskController, categoryController, priorityController, reminderController, table, refreshAll),
+                "Remove", currentItem -> showRemoveTaskDialog(currentItem, taskController, reminderController, table, refreshAll)));
         actionsColumn.setPrefWidth(actionsColumnWidth);
         actionsColumn.setMinWidth(actionsColumnWidth);
         actionsColumn.setMaxWidth(actionsColumnWidth);
 
-        for (TableColumn<Object, String> col : attributeColumns) {
+        for (TableColumn<Object, Object> col : attributeColumns) {
             table.getColumns().add(col);
         }
         table.getColumns().add(actionsColumn);
-        table.setItems(FXCollections.observableArrayList(taskController.getTasks()));
+
+        // The controller sorts the tasks by the fields behind the columns, in the columns' order
+        List<TaskOrder.Key> sortKeys = List.of(
+                TaskOrder.Key.TITLE, TaskOrder.Key.CATEGORY, TaskOrder.Key.PRIORITY, TaskOrder.Key.DEADLINE);
+        Map<TableColumn<Object, ?>, TaskOrder.Key> columnSortKeys = new HashMap<>();
+        for (int i = 0; i < attributeColumns.size(); i++) {
+            columnSortKeys.put(attributeColumns.get(i), sortKeys.get(i));
+        }
+        taskSearch.bind(table, columnSortKeys);
 
         // ---------------------------
         // SCROLL PANE FOR TAB
@@ -373,40 +340,16 @@ public class TaskManagementView {
 
         reminderTable.setSelectionModel(null);
 
-        TableColumn<Object, String> reminderInfoColumn = new TableColumn<>("Reminder");
-        reminderInfoColumn.setCellValueFactory(data -> {
-            Reminder reminder = (Reminder) data.getValue();
-            return new SimpleStringProperty(reminder.getType() + " - " + reminder.getReminderDate().toString());
-        });
+        TableColumn<Object, Object> reminderInfoColumn = AttributeTableCell.createColumn(
+                new Main.AttributeColumnSpec("Reminder", item -> {
+                    Reminder reminder = (Reminder) item;
+                    return reminder.getType() + " - " + reminder.getReminderDate().toString();
+                }));
 
         TableColumn<Object, Void> actionsColumn = new TableColumn<>("Actions");
-        actionsColumn.setCellFactory(col -> new TableCell<>() {
-            private final Button editButton = new Button("Edit");
-            private final Button removeButton = new Button("Remove");
-            private final HBox actionButtons = new HBox(5);
-
-            {
-                actionButtons.setAlignment(Pos.CENTER);
-                editButton.setPrefWidth(80);
-                removeButton.setPrefWidth(80);
-                actionButtons.getChildren().addAll(editButton, removeButton);
-            }
-
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    Object reminder = getTableView().getItems().get(getIndex());
-
-                    editButton.setOnAction(event -> showEditReminderDialog(reminder, reminderController, reminderTable, refreshAll));
-                    removeButton.setOnAction(event -> showRemoveReminderDialog(reminder, reminderController, reminderTable, refreshAll));
-
-                    setGraphic(actionButtons);
-                }
-            }
-        });
+        actionsColumn.setCellFactory(col -> new ActionButtonsTableCell(
+                "Edit", reminder -> showEditReminderDialog(reminder, reminderController, reminderTable, refreshAll),
+                "Remove", reminder -> showRemoveReminderDialog(reminder, reminderController, reminderTable, refreshAll)));
 
         reminderTable.getColumns().addAll(reminderInfoColumn, actionsColumn);
 
@@ -469,7 +412,7 @@ public class TaskManagementView {
         grid.add(descriptionArea, 1, 2);
 
         grid.add(new Label("Category:"), 0, 3);
-        ComboBox<Category> categoryCombo = new ComboBox<>(FXCollections.observableArrayList(categoryController.getCategories()));
+        ComboBox<Category> categoryCombo = new ComboBox<>(FXCollections.observableArrayList(categoryController.getCategoriesView()));
         categoryCombo.setCellFactory(lv -> new ListCell<>() {
             @Override
             protected void updateItem(Category item, boolean empty) {
@@ -488,7 +431,7 @@ public class TaskManagementView {
         grid.add(categoryCombo, 1, 3);
 
         grid.add(new Label("Priority:"), 0, 4);
-        ComboBox<Priority> priorityCombo = new ComboBox<>(FXCollections.observableArrayList(priorityController.getPriorities()));
+        ComboBox<Priority> priorityCombo = new ComboBox<>(FXCollections.observableArrayList(priorityController.getPrioritiesView()));
         priorityCombo.setCellFactory(lv -> new ListCell<>() {
             @Override
             protected void updateItem(Priority item, boolean empty) {
@@ -614,7 +557,6 @@ public class TaskManagementView {
             if (response == ButtonType.OK) {
                 try {
                     taskController.removeTask(task, reminderController);
-                    table.setItems(FXCollections.observableArrayList(taskController.getTasks()));
                     refreshAll.run();
                 } catch (IllegalArgumentException e) {
                     showError("Error Removing Task", e.getMessage());
@@ -651,7 +593,7 @@ public class TaskManagementView {
         descriptionArea.setWrapText(true);
         descriptionArea.setPrefWidth(250);
 
-        ComboBox<Category> categoryCombo = new ComboBox<>(FXCollections.observableArrayList(categoryController.getCategories()));
+        ComboBox<Category> categoryCombo = new ComboBox<>(FXCollections.observableArrayList(categoryController.getCategoriesView()));
         categoryCombo.setCellFactory(lv -> new ListCell<>() {
             @Override
             protected void updateItem(Category item, boolean empty) {
@@ -670,7 +612,7 @@ public class TaskManagementView {
             categoryCombo.setValue(categoryCombo.getItems().get(0));
         }
 
-        ComboBox<Priority> priorityCombo = new ComboBox<>(FXCollections.observableArrayList(priorityController.getPriorities()));
+        ComboBox<Priority> priorityCombo = new ComboBox<>(FXCollections.observableArrayList(priorityController.getPrioritiesView()));
         priorityCombo.setCellFactory(lv -> new ListCell<>() {
             @Override
             protected void updateItem(Priority item, boolean empty) {
@@ -726,7 +668,6 @@ public class TaskManagementView {
         result.ifPresent(newTask -> {
             try {
                 taskController.addTask(newTask, priorityController);
-                table.setItems(FXCollections.observableArrayList(taskController.getTasks()));
                 refreshAll.run();
             } catch (IllegalArgumentException e) {
                 showError("Error Adding Task", e.getMessage());
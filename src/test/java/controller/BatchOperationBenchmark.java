@@ -0,0 +1,100 @@
+package controller;
+
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times the batch task operations against calling the single-task operation for every task, and
+ * counts the change events each fires, since every event is a table update in the application.
+ * Each run starts from a new store, so that every operation finds the tasks as it expects them.
+ */
+@Tag(Benchmarks.TAG)
+class BatchOperationBenchmark {
+    private static final int[] SIZES = {10_000, 100_000};
+    private static final String DESCRIPTION = "Updated description";
+
+    @Test
+    void batchAgainstSingle() {
+        for (int size : SIZES) {
+            measure("add, batch", size, true, (store, tasks) -> store.tasks.addTasks(tasks, store.priorities),
+                    store -> store.tasks.getTasks().size(), size);
+            measure("add, one by one", size, true, (store, tasks) -> {
+                for (Task task : tasks) {
+                    store.tasks.addTask(task, store.priorities);
+                }
+            }, store -> store.tasks.getTasks().size(), size);
+
+            measure("update, batch", size, false, (store, tasks) ->
+                            store.tasks.updateTasks(task -> true, task -> task.setDescription(DESCRIPTION), store.reminders),
+                    BatchOperationBenchmark::updatedCount, size);
+            measure("update, one by one", size, false, (store, tasks) -> {
+                for (Task task : tasks) {
+                    store.tasks.updateTask(task, task.getTitle(), DESCRIPTION, task.getCategory(), task.getPriority(),
+                            task.getDeadline(), task.getStatus(), store.reminders);
+                }
+            }, BatchOperationBenchmark::updatedCount, size);
+
+            measure("complete, batch", size, false, (store, tasks) -> store.tasks.completeAll(tasks, store.reminders),
+                    store -> store.tasks.getStatistics().getCompletedTasks(), size);
+            measure("complete, one by one", size, false, (store, tasks) -> {
+                for (Task task : tasks) {
+                    store.tasks.updateTask(task, task.getTitle(), task.getDescription(), task.getCategory(),
+                            task.getPriority(), task.getDeadline(), TaskStatus.COMPLETED, store.reminders);
+                }
+            }, store -> store.tasks.getStatistics().getCompletedTasks(), size);
+
+            measure("remove, batch", size, false, (store, tasks) -> store.tasks.removeTasks(tasks, store.reminders),
+                    store -> store.tasks.getTasks().size(), 0);
+            measure("remove, one by one", size, false, (store, tasks) -> {
+                for (Task task : tasks) {
+                    store.tasks.removeTask(task, store.reminders);
+                }
+            }, store -> store.tasks.getTasks().size(), 0);
+        }
+    }
+
+    /**
+     * Runs an operation on the tasks of new stores and reports the fastest run.
+     *
+     * @param empty     Whether the store starts empty and the operation is given new tasks, instead
+     *                  of the stored ones.
+     * @param operation The operation, given the store and the tasks.
+     * @param result    What is checked after every run.
+     * @param expected  The value the check should find.
+     */
+    private static void measure(String benchmark, int size, boolean empty,
+                                BiConsumer<Benchmarks.Store, List<Task>> operation,
+                                ToIntFunction<Benchmarks.Store> result, int expected) {
+        double best = Double.MAX_VALUE;
+        int events = 0;
+        for (int run = 0; run < Benchmarks.runs(size); run++) {
+            Benchmarks.Store store = new Benchmarks.Store(empty ? 0 : size);
+            List<Task> tasks = empty
+                    ? Benchmarks.newTasks(size, store.categories.getCategories(), store.priorities.getPriorities())
+                    : store.tasks.getTasks();
+            int[] fired = new int[1];
+            store.tasks.addTaskListener(event -> fired[0]++);
+
+            long start = System.nanoTime();
+            operation.accept(store, tasks);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            assertEquals(expected, result.applyAsInt(store));
+            events = fired[0];
+        }
+        Benchmarks.report(benchmark, size, String.format("%8.1f ms  %,8d events", best, events));
+    }
+
+    private static int updatedCount(Benchmarks.Store store) {
+        return (int) store.tasks.getTasks().stream()
+                .filter(task -> task.getDescription().equals(DESCRIPTION))
+                .count();
+    }
+}
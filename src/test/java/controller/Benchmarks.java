@@ -0,0 +1,139 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared set-up and measurements for the timed tests, which only run with {@code mvn test -Pbenchmark}.
+ * They print what they measure rather than assert on times, which depend on the machine, and check
+ * that the measured operation did its work.
+ */
+final class Benchmarks {
+    static final String TAG = "benchmark";
+    static final int[] SIZES = {10_000, 100_000, 1_000_000};
+
+    private static final int CATEGORIES = 20;
+    private static final int PRIORITIES = 5;
+    private static final int DEADLINE_DAYS = 365;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Controllers holding a store of the given size, spread over a few categories, unless told
+     * otherwise, a few priorities and a year of deadlines. Every fourth task has a reminder.
+     */
+    static final class Store {
+        final TaskController tasks = new TaskController();
+        final ReminderController reminders = new ReminderController();
+        final CategoryController categories = new CategoryController();
+        final PriorityController priorities = new PriorityController();
+
+        Store(int size) {
+            this(size, CATEGORIES);
+        }
+
+        Store(int size, int categoryCount) {
+            for (int i = 0; i < categoryCount; i++) {
+                categories.addCategory(new Category("Category " + i));
+            }
+            for (int i = 0; i < PRIORITIES; i++) {
+                priorities.addPriority(new Priority("Priority " + i));
+            }
+            tasks.addTasks(newTasks(size, categories.getCategories(), priorities.getPriorities()), priorities);
+            List<Task> stored = tasks.getTasks();
+            for (int i = 0; i < stored.size(); i += 4) {
+                reminders.addReminder(new Reminder(ReminderType.ONE_DAY_BEFORE, stored.get(i), null));
+            }
+        }
+
+        StoreSnapshot capture() {
+            return StoreSnapshot.capture(tasks, reminders, categories, priorities);
+        }
+    }
+
+    static List<Task> newTasks(int size, List<Category> categories, List<Priority> priorities) {
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new Task("Task " + i, "Description of task " + i, categories.get(i % categories.size()),
+                    priorities.get(i % priorities.size()), today.plusDays(2 + i % DEADLINE_DAYS)));
+        }
+        return tasks;
+    }
+
+    /**
+     * @return The bytes allocated by the current thread so far, to be subtracted from a later reading.
+     */
+    static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Collects garbage and starts a new peak for {@link #peakHeap()}.
+     *
+     * @return The heap in use after the collection.
+     */
+    static long resetPeakHeap() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @return The sum of the heap pools' peaks since the last {@link #resetPeakHeap()}, which is an
+     * upper bound of the heap in use at any one time.
+     */
+    static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Runs an action a few times and returns the fastest run, so that the first runs' class loading
+     * and compilation are not counted.
+     */
+    static double bestMillis(int runs, Runnable action) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            action.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    static int runs(int size) {
+        return size >= 1_000_000 ? 2 : 5;
+    }
+
+    static void report(String benchmark, int size, String measurement) {
+        System.out.printf("%-28s %,10d tasks  %s%n", benchmark, size, measurement);
+    }
+
+    static String megabytes(long bytes) {
+        return String.format("%.1f MB", bytes / 1e6);
+    }
+}
@@ -0,0 +1,60 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times loading the binary store the way the application starts: the names, the tasks and their
+ * reminders, the archive and the journal replay, which has nothing to apply here. The first load of
+ * each size is reported apart, since it is the one the application pays for; in the first runs the
+ * heap is still growing, which takes the collector longer than reading the tasks.
+ */
+@Tag(Benchmarks.TAG)
+class BinaryLoadBenchmark {
+
+    @Test
+    void loadBinary() {
+        for (int size : Benchmarks.SIZES) {
+            Benchmarks.Store store = new Benchmarks.Store(size);
+            new DataController(false, DataController.StorageFormat.BINARY).saveSnapshot(store.capture());
+            store = null;
+
+            double first = 0;
+            double best = Double.MAX_VALUE;
+            for (int run = 0; run < Benchmarks.runs(size) + 1; run++) {
+                Benchmarks.resetPeakHeap();
+                long start = System.nanoTime();
+                List<Task> tasks = load();
+                double millis = (System.nanoTime() - start) / 1e6;
+                assertEquals(size, tasks.size());
+                if (run == 0) {
+                    first = millis;
+                } else {
+                    best = Math.min(best, millis);
+                }
+            }
+            Benchmarks.report("load binary", size, String.format("%8.1f ms  first %.1f ms", best, first));
+        }
+    }
+
+    private static List<Task> load() {
+        DataController dataController = new DataController(false, DataController.StorageFormat.BINARY);
+        List<Category> categories = dataController.loadCategories();
+        List<Priority> priorities = dataController.loadPriorities();
+        List<Task> tasks = new ArrayList<>();
+        List<Reminder> reminders = new ArrayList<>();
+        dataController.loadTasksAndReminders(categories, priorities, tasks, reminders);
+        TaskArchive archive = dataController.openArchive(categories, priorities);
+        dataController.replayJournal(categories, priorities, tasks, reminders, archive);
+        return tasks;
+    }
+}
@@ -0,0 +1,106 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times deleting a category that holds a quarter of the tasks, each task with four reminders of
+ * different types, up to 100k tasks and 400k reminders. It is compared with dropping the same
+ * reminders one at a time from a single list, each after checking that the list contains it, as
+ * the controller did before reminders were indexed by task. The list only goes up to 10k tasks,
+ * since its cost grows with the square of the reminders; its reminders compare by id, which is
+ * cheaper than the value comparison the old lookups used.
+ */
+@Tag(Benchmarks.TAG)
+class CategoryDeletionBenchmark {
+    private static final int[] SIZES = {10_000, 100_000};
+    private static final int MAX_LIST_SIZE = 10_000;
+    private static final int CATEGORIES = 4;
+    private static final ReminderType[] REMINDER_TYPES = {
+            ReminderType.ONE_DAY_BEFORE, ReminderType.ONE_WEEK_BEFORE,
+            ReminderType.ONE_MONTH_BEFORE, ReminderType.CUSTOM_DATE};
+
+    @Test
+    void deleteCategory() {
+        for (int size : SIZES) {
+            double best = Double.MAX_VALUE;
+            for (int run = 0; run < Benchmarks.runs(size); run++) {
+                Store store = new Store(size);
+                Category deleted = store.categories.getCategories().get(0);
+                long start = System.nanoTime();
+                store.categories.removeCategory(deleted, store.tasks, store.reminders);
+                best = Math.min(best, (System.nanoTime() - start) / 1e6);
+                assertEquals(size - size / CATEGORIES, store.tasks.getTasks().size());
+                assertEquals((size - size / CATEGORIES) * REMINDER_TYPES.length,
+                        store.reminders.getAllReminders().size());
+            }
+            Benchmarks.report("delete category, indexed", size, String.format("%8.1f ms  %,d reminders",
+                    best, size * REMINDER_TYPES.length));
+
+            if (size <= MAX_LIST_SIZE) {
+                Store store = new Store(size);
+                Category deleted = store.categories.getCategories().get(0);
+                List<Reminder> list = store.reminders.getAllReminders();
+                double millis = Benchmarks.bestMillis(1, () -> removeFromList(list, store.tasks, deleted));
+                assertEquals((size - size / CATEGORIES) * REMINDER_TYPES.length, list.size());
+                Benchmarks.report("delete category, list", size, String.format("%8.1f ms  %,d reminders",
+                        millis, size * REMINDER_TYPES.length));
+            }
+        }
+    }
+
+    private static void removeFromList(List<Reminder> list, TaskController tasks, Category category) {
+        for (Task task : tasks.getTasks()) {
+            if (task.getCategory().equals(category)) {
+                for (Reminder reminder : new ArrayList<>(task.getReminders())) {
+                    if (list.contains(reminder)) {
+                        list.remove(reminder);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Controllers holding tasks spread over a few categories, due at least 40 days out so that every
+     * reminder type applies, with one reminder of each type.
+     */
+    private static final class Store {
+        final TaskController tasks = new TaskController();
+        final ReminderController reminders = new ReminderController();
+        final CategoryController categories = new CategoryController();
+        final PriorityController priorities = new PriorityController();
+
+        Store(int size) {
+            for (int i = 0; i < CATEGORIES; i++) {
+                categories.addCategory(new Category("Category " + i));
+            }
+            priorities.addPriority(new Priority("Priority 0"));
+            LocalDate today = LocalDate.now();
+            List<Task> newTasks = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                newTasks.add(new Task("Task " + i, "Description of task " + i,
+                        categories.getCategories().get(i % CATEGORIES), priorities.getPriorities().get(0),
+                        today.plusDays(40 + i % 300)));
+            }
+            tasks.addTasks(newTasks, priorities);
+            for (Task task : tasks.getTasks()) {
+                for (ReminderType type : REMINDER_TYPES) {
+                    LocalDate date = type == ReminderType.CUSTOM_DATE ? today.plusDays(1) : null;
+                    reminders.addReminder(new Reminder(type, task, date));
+                }
+            }
+        }
+    }
+}
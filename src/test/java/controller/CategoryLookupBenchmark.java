@@ -0,0 +1,58 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Times loading the same number of tasks spread over more and more categories. The loader looks
+ * names up in hash indexes, so its cost per task should stay flat; the linear search over the
+ * category list that loading used before is timed alongside for the same names.
+ */
+@Tag(Benchmarks.TAG)
+class CategoryLookupBenchmark {
+    private static final int TASKS = 100_000;
+    private static final int[] CATEGORY_COUNTS = {10, 100, 1_000, 10_000};
+
+    @Test
+    void loadWithManyCategories() {
+        for (int categoryCount : CATEGORY_COUNTS) {
+            new DataController(false).saveSnapshot(new Benchmarks.Store(TASKS, categoryCount).capture());
+
+            DataController dataController = new DataController(false);
+            List<Category> categories = dataController.loadCategories();
+            List<Priority> priorities = dataController.loadPriorities();
+            List<Task> tasks = new ArrayList<>();
+            double millis = Benchmarks.bestMillis(Benchmarks.runs(TASKS), () -> {
+                tasks.clear();
+                dataController.loadTasksAndReminders(categories, priorities, tasks, new ArrayList<Reminder>());
+            });
+            assertEquals(TASKS, tasks.size());
+
+            Category[] found = new Category[1];
+            double scanMillis = Benchmarks.bestMillis(Benchmarks.runs(TASKS), () -> {
+                for (Task task : tasks) {
+                    String name = task.getCategory().getName();
+                    found[0] = categories.stream()
+                            .filter(category -> category.getName().equals(name))
+                            .findFirst()
+                            .orElse(null);
+                }
+            });
+            assertSame(tasks.get(TASKS - 1).getCategory(), found[0]);
+
+            Benchmarks.report("load, " + categoryCount + " categories", TASKS, String.format(
+                    "%8.1f ms  %6.0f ns/task  linear lookups alone %8.1f ms",
+                    millis, millis * 1e6 / TASKS, scanMillis));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package controller;
+
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the bytes a dashboard refresh allocates: computed over copies of the task list, as it was
+ * first done, over the read-only view, and from the statistics the controller keeps, as it is done
+ * now. The label text is left out, since it costs the same every way. Over the view, what is left
+ * is the date arithmetic of the due-soon filter, which runs once per task.
+ */
+@Tag(Benchmarks.TAG)
+class DashboardBenchmark {
+    private static final int REFRESHES = 20;
+
+    @Test
+    void refreshDashboard() {
+        for (int size : Benchmarks.SIZES) {
+            TaskController tasks = new Benchmarks.Store(size).tasks;
+            long[] copies = measure(() -> tasks.getTasks(), tasks, size);
+            long[] view = measure(tasks::getTasksView, tasks, size);
+            long[] statistics = measureStatistics(tasks, size);
+            Benchmarks.report("dashboard refresh", size, String.format(
+                    "copies %s  view %s  statistics %d bytes allocated per refresh",
+                    Benchmarks.megabytes(copies[0]), Benchmarks.megabytes(view[0]), statistics[0]));
+            assertEquals(copies[1], view[1]);
+            assertEquals(copies[1], statistics[1]);
+        }
+    }
+
+    /**
+     * @return The bytes allocated per refresh, and the number of tasks due soon as a check.
+     */
+    private static long[] measure(Supplier<Collection<Task>> source, TaskController tasks, int size) {
+        long[] result = new long[2];
+        for (int i = 0; i < REFRESHES; i++) {
+            LocalDate today = LocalDate.now();
+            long before = Benchmarks.allocatedBytes();
+            long total = source.get().size();
+            long completed = source.get().stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
+            long delayed = source.get().stream().filter(t -> t.getStatus() == TaskStatus.DELAYED).count();
+            long dueSoon = source.get().stream()
+                    .filter(t -> !t.getDeadline().isBefore(today) && !t.getDeadline().isAfter(today.plusDays(7))
+                            && t.getStatus() != TaskStatus.COMPLETED)
+                    .count();
+            result[0] = Benchmarks.allocatedBytes() - before;
+            result[1] = dueSoon;
+            assertEquals(size, total);
+        }
+        return result;
+    }
+
+    private static long[] measureStatistics(TaskController tasks, int size) {
+        long[] result = new long[2];
+        for (int i = 0; i < REFRESHES; i++) {
+            LocalDate today = LocalDate.now();
+            long before = Benchmarks.allocatedBytes();
+            TaskStatistics statistics = tasks.getStatistics();
+            int total = statistics.getTotalTasks() + tasks.getArchivedTaskCount();
+            statistics.getCompletedTasks();
+            statistics.getDelayedTasks();
+            long dueSoon = statistics.getUnfinishedTasksDueBetween(today, today.plusDays(7));
+            result[0] = Benchmarks.allocatedBytes() - before;
+            result[1] = dueSoon;
+            assertEquals(size, total);
+        }
+        return result;
+    }
+}
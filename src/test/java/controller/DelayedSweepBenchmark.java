@@ -0,0 +1,67 @@
+package controller;
+
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times the delayed-task sweep against stores of growing size, as if days had passed: first with
+ * nothing overdue, then with one day's deadlines and then ten more days' deadlines overdue. The
+ * sweep only visits overdue tasks, so its cost should follow their number rather than the size of
+ * the store. A scan over every task, as the sweep did before, is timed alongside.
+ */
+@Tag(Benchmarks.TAG)
+class DelayedSweepBenchmark {
+    private static final int EMPTY_SWEEPS = 1_000;
+
+    @Test
+    void sweepDelayedTasks() {
+        // Warms the sweep up, so the first store is not timed with interpreted code
+        TaskController warmUp = new Benchmarks.Store(10_000).tasks;
+        for (int day = 3; day < 100; day++) {
+            warmUp.updateDelayedTasks(LocalDate.now().plusDays(day));
+        }
+
+        for (int size : Benchmarks.SIZES) {
+            TaskController tasks = new Benchmarks.Store(size).tasks;
+            LocalDate today = LocalDate.now();
+            double emptyMillis = Benchmarks.bestMillis(1, () -> {
+                for (int i = 0; i < EMPTY_SWEEPS; i++) {
+                    assertEquals(0, tasks.updateDelayedTasks(today).size());
+                }
+            }) / EMPTY_SWEEPS;
+            double scanMillis = Benchmarks.bestMillis(Benchmarks.runs(size), () -> scan(tasks, today.plusDays(3)));
+            String oneDay = sweep(tasks, today.plusDays(3));
+            String tenDays = sweep(tasks, today.plusDays(13));
+            Benchmarks.report("delayed sweep", size, String.format(
+                    "none overdue %.4f ms  %s  %s  scan of all tasks %.2f ms",
+                    emptyMillis, oneDay, tenDays, scanMillis));
+        }
+    }
+
+    private static String sweep(TaskController tasks, LocalDate today) {
+        int expected = scan(tasks, today);
+        long start = System.nanoTime();
+        List<Task> delayed = tasks.updateDelayedTasks(today);
+        double millis = (System.nanoTime() - start) / 1e6;
+        assertEquals(expected, delayed.size());
+        return String.format("%,d overdue %.2f ms", delayed.size(), millis);
+    }
+
+    private static int scan(TaskController tasks, LocalDate today) {
+        int overdue = 0;
+        for (Task task : tasks.getTasksView()) {
+            if (task.getDeadline().isBefore(today) && task.getStatus() != TaskStatus.COMPLETED
+                    && task.getStatus() != TaskStatus.DELAYED) {
+                overdue++;
+            }
+        }
+        return overdue;
+    }
+}
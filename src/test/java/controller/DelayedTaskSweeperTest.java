@@ -0,0 +1,118 @@
+package controller;
+
+import model.Category;
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the sweeper against a fixed clock, with sweeps handed to a queue instead of a UI thread, so
+ * the test decides when and on which thread they run.
+ */
+class DelayedTaskSweeperTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/Athens");
+
+    private final LocalDate today = LocalDate.now(ZONE);
+    private final BlockingQueue<Runnable> controllerThread = new LinkedBlockingQueue<>();
+    private final List<ModelChangeEvent<Task>> events = new ArrayList<>();
+
+    private TaskController taskController;
+    private PriorityController priorityController;
+    private DelayedTaskSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        taskController = new TaskController();
+        priorityController = new PriorityController();
+        taskController.addTaskListener(events::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sweeper != null) {
+            sweeper.stop();
+        }
+    }
+
+    @Test
+    void sweepDelaysOnlyOverdueTasks() {
+        Category category = new Category("Work");
+        Task dueTomorrow = addTask(category, today.plusDays(1));
+        Task dueLater = addTask(category, today.plusDays(10));
+        Task completed = addTask(category, today.plusDays(1));
+        taskController.completeAll(List.of(completed), new ReminderController());
+        events.clear();
+
+        sweeper = newSweeper(clockAt(today.plusDays(3), LocalTime.NOON));
+        List<Task> delayed = sweeper.sweepNow();
+
+        assertEquals(List.of(dueTomorrow), delayed);
+        assertEquals(TaskStatus.DELAYED, dueTomorrow.getStatus());
+        assertEquals(TaskStatus.OPEN, dueLater.getStatus());
+        assertEquals(TaskStatus.COMPLETED, completed.getStatus());
+        assertEquals(1, events.size());
+        assertEquals(ModelChangeEvent.Type.UPDATED, events.get(0).getType());
+        assertEquals(List.of(dueTomorrow), events.get(0).getItems());
+
+        // A second sweep on the same day finds nothing left to change and reports nothing
+        assertTrue(sweeper.sweepNow().isEmpty());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void wakeUpIsAtTheNextDayBoundaryAndCapped() {
+        sweeper = newSweeper(clockAt(today, LocalTime.of(23, 59, 30)));
+        assertEquals(Duration.ofSeconds(30), sweeper.delayUntilNextWakeUp());
+
+        sweeper = newSweeper(clockAt(today, LocalTime.of(8, 0)));
+        assertEquals(Duration.ofHours(1), sweeper.delayUntilNextWakeUp());
+    }
+
+    @Test
+    void wakeUpHandsTheSweepToTheControllerExecutor() throws InterruptedException {
+        Task overdue = addTask(new Category("Work"), today.plusDays(1));
+        events.clear();
+        sweeper = newSweeper(clockAt(today.plusDays(2), LocalTime.of(23, 59, 59, 950_000_000)));
+        sweeper.start();
+
+        Runnable sweep = controllerThread.poll(10, TimeUnit.SECONDS);
+        assertNotNull(sweep);
+        // Nothing changes until the controller's thread runs the sweep
+        assertEquals(TaskStatus.OPEN, overdue.getStatus());
+        sweep.run();
+        assertEquals(TaskStatus.DELAYED, overdue.getStatus());
+        assertEquals(1, events.size());
+        assertEquals(List.of(overdue), events.get(0).getItems());
+    }
+
+    private Task addTask(Category category, LocalDate deadline) {
+        Task task = new Task("Task due " + deadline, "Description", category, null, deadline);
+        taskController.addTask(task, priorityController);
+        return task;
+    }
+
+    private DelayedTaskSweeper newSweeper(Clock clock) {
+        return new DelayedTaskSweeper(taskController, clock, controllerThread::add);
+    }
+
+    private static Clock clockAt(LocalDate date, LocalTime time) {
+        return Clock.fixed(date.atTime(time).atZone(ZONE).toInstant(), ZONE);
+    }
+}
@@ -0,0 +1,113 @@
+package controller;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import view.PagedTaskList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times what the FX thread does for one task edit: the edit itself, then bringing the task table up
+ * to date. The table is stood in for by a listener that reads the rows a window shows, since the
+ * JavaFX toolkit does not start without a display; the rows are a {@link PagedTaskList} patched by
+ * the task listener, as in the application. It is compared with rebuilding the four tables' items
+ * from full copies and running the search again after every edit, as the views did before the
+ * controllers published changes. The query, when there is one, matches a tenth of the tasks, and
+ * the sorted table is sorted by deadline, which every edit changes. The dashboard is left out of
+ * both; {@link DashboardBenchmark} times it.
+ */
+@Tag(Benchmarks.TAG)
+class EditRefreshBenchmark {
+    private static final int SIZE = 100_000;
+    private static final int EDITS = 200;
+    private static final int VISIBLE_ROWS = 30;
+    private static final String QUERY = "task 3";
+
+    @Test
+    void editOneTask() {
+        TaskOrder byDeadline = TaskOrder.by(TaskOrder.Key.DEADLINE, true);
+        // The first round only warms up
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            measure("edit patched", "", null, false, report);
+            measure("edit patched, query", QUERY, null, false, report);
+            measure("edit patched, sorted", "", byDeadline, false, report);
+            measure("edit patched, sorted, query", QUERY, byDeadline, false, report);
+            measure("edit rebuilt", "", null, true, report);
+            measure("edit rebuilt, query", QUERY, null, true, report);
+        }
+    }
+
+    private static void measure(String benchmark, String query, TaskOrder order, boolean rebuild, boolean report) {
+        Benchmarks.Store store = new Benchmarks.Store(SIZE);
+        TaskController tasks = store.tasks;
+        List<Task> edited = tasks.getTasks().subList(0, EDITS);
+        List<?>[] shown = new List<?>[1];
+        Runnable refresh;
+        if (rebuild) {
+            refresh = () -> shown[0] = rebuild(store, query);
+        } else {
+            PagedTaskList rows = new PagedTaskList();
+            rows.setCursor(tasks.prepareSearch(query, "", "", order).run());
+            shown[0] = draw(rows);
+            rows.addListener((ListChangeListener<Object>) change -> shown[0] = draw(rows));
+            tasks.addTaskListener(event -> {
+                switch (event.getType()) {
+                    case ADDED -> rows.tasksAdded(event.getItems());
+                    case REMOVED -> rows.tasksRemoved(event.getItems());
+                    case UPDATED -> rows.tasksUpdated(event.getItems());
+                }
+            });
+            refresh = () -> {
+            };
+        }
+
+        double millis = Benchmarks.bestMillis(Benchmarks.runs(SIZE), () -> {
+            for (Task task : edited) {
+                // Moves the task a day later on every round, which moves its row when sorted by deadline
+                tasks.updateTask(task, task.getTitle(), task.getDescription(), task.getCategory(), task.getPriority(),
+                        task.getDeadline().plusDays(1), task.getStatus(), store.reminders);
+                refresh.run();
+            }
+        });
+        assertEquals(draw(tasks.prepareSearch(query, "", "", order).run().fetch(0, VISIBLE_ROWS)), shown[0],
+                "The shown rows are not those of a new search");
+        if (report) {
+            Benchmarks.report(benchmark, SIZE, String.format("%8.3f ms per edit", millis / EDITS));
+        }
+    }
+
+    /**
+     * Reads the rows a window shows from the top of the table, the way the table redraws them.
+     *
+     * @return The rows read.
+     */
+    private static List<Object> draw(List<?> rows) {
+        List<Object> shown = new ArrayList<>(VISIBLE_ROWS);
+        for (int i = 0; i < Math.min(VISIBLE_ROWS, rows.size()); i++) {
+            shown.add(rows.get(i));
+        }
+        return shown;
+    }
+
+    private static List<Object> rebuild(Benchmarks.Store store, String query) {
+        ObservableList<Task> taskItems = FXCollections.observableArrayList(store.tasks.getTasks());
+        ObservableList<?> categoryItems = FXCollections.observableArrayList(store.categories.getCategories());
+        ObservableList<?> priorityItems = FXCollections.observableArrayList(store.priorities.getPriorities());
+        ObservableList<?> reminderItems = FXCollections.observableArrayList(store.reminders.getAllReminders());
+        if (!query.isEmpty()) {
+            taskItems = FXCollections.observableArrayList(store.tasks.searchTasks(query, "", ""));
+        }
+        assertEquals(SIZE / 4, reminderItems.size());
+        assertTrue(!categoryItems.isEmpty() && !priorityItems.isEmpty());
+        return draw(taskItems);
+    }
+}
@@ -0,0 +1,109 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times loading the tasks from JSON with the streaming loader against reading the whole document
+ * into a tree first, the way tasks were loaded before, and compares the heap each one needs. The
+ * peak adds up the peaks of the heap pools, so it is an upper bound that includes garbage not yet
+ * collected; what is kept is the heap still in use after the load, with the loaded objects.
+ */
+@Tag(Benchmarks.TAG)
+class LoadBenchmark {
+    private static final String TASKS_FILE = "medialab/tasks.json";
+
+    @Test
+    void loadJson() {
+        for (int size : Benchmarks.SIZES) {
+            Benchmarks.Store store = new Benchmarks.Store(size);
+            new DataController(false).saveSnapshot(store.capture());
+            store = null;
+
+            DataController dataController = new DataController(false);
+            List<Category> categories = dataController.loadCategories();
+            List<Priority> priorities = dataController.loadPriorities();
+            measure("streamed", size, (tasks, reminders) ->
+                    dataController.loadTasksAndReminders(categories, priorities, tasks, reminders));
+            measure("tree", size, (tasks, reminders) -> loadTree(categories, priorities, tasks, reminders));
+        }
+    }
+
+    private interface Load {
+        void load(List<Task> tasks, List<Reminder> reminders);
+    }
+
+    private static void measure(String benchmark, int size, Load load) {
+        double best = Double.MAX_VALUE;
+        long peak = 0;
+        long kept = 0;
+        for (int run = 0; run < Benchmarks.runs(size); run++) {
+            List<Task> tasks = new ArrayList<>();
+            List<Reminder> reminders = new ArrayList<>();
+            long before = Benchmarks.resetPeakHeap();
+            long start = System.nanoTime();
+            load.load(tasks, reminders);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            peak = Math.max(peak, Benchmarks.peakHeap() - before);
+            kept = Benchmarks.resetPeakHeap() - before;
+            assertEquals(size, tasks.size());
+        }
+        Benchmarks.report("load " + benchmark, size, String.format("%8.1f ms  peak heap %s  kept %s",
+                best, Benchmarks.megabytes(peak), Benchmarks.megabytes(kept)));
+    }
+
+    private static void loadTree(List<Category> categories, List<Priority> priorities,
+                                 List<Task> tasks, List<Reminder> reminders) {
+        try (JsonReader reader = Json.createReader(new BufferedInputStream(new FileInputStream(TASKS_FILE)))) {
+            JsonObject jsonObject = reader.readObject();
+            JsonArray tasksArray = jsonObject.getJsonArray("tasks");
+            for (JsonObject taskObject : tasksArray.getValuesAs(JsonObject.class)) {
+                String categoryName = taskObject.getString("category");
+                String priorityName = taskObject.getString("priority");
+                Category category = categories.stream()
+                        .filter(c -> c.getName().equals(categoryName))
+                        .findFirst()
+                        .orElse(null);
+                Priority priority = priorities.stream()
+                        .filter(p -> p.getName().equals(priorityName))
+                        .findFirst()
+                        .orElse(null);
+
+                Task task = new Task(taskObject.getString("title"), taskObject.getString("description"), category,
+                        priority, LocalDate.parse(taskObject.getString("deadline")), true);
+                task.setStatus(TaskStatus.valueOf(taskObject.getString("status")));
+
+                for (JsonObject reminderObject : taskObject.getJsonArray("reminders").getValuesAs(JsonObject.class)) {
+                    LocalDate reminderDate = LocalDate.parse(reminderObject.getString("date"));
+                    if (!reminderDate.isBefore(LocalDate.now())) {
+                        reminders.add(new Reminder(ReminderType.valueOf(reminderObject.getString("type")), task,
+                                reminderDate));
+                    }
+                }
+                tasks.add(task);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
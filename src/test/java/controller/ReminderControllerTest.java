@@ -0,0 +1,133 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the reminder controller's indexes stay consistent while reminders change in place.
+ */
+class ReminderControllerTest {
+    private final LocalDate today = LocalDate.now();
+    private final Category category = new Category("Work");
+    private final Priority priority = new Priority("High");
+    private final List<ModelChangeEvent<Reminder>> events = new ArrayList<>();
+
+    private ReminderController reminderController;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        reminderController = new ReminderController();
+        reminderController.addReminderListener(events::add);
+        task = new Task("Report", "Quarterly report", category, priority, today.plusDays(30));
+    }
+
+    @Test
+    void updatedReminderStaysIndexed() {
+        Reminder reminder = new Reminder(ReminderType.ONE_DAY_BEFORE, task, null);
+        reminderController.addReminder(reminder);
+        int hashCode = reminder.hashCode();
+
+        reminderController.updateReminder(reminder, ReminderType.ONE_WEEK_BEFORE, null);
+
+        assertEquals(hashCode, reminder.hashCode());
+        assertEquals(today.plusDays(23), reminder.getReminderDate());
+        assertTrue(reminderController.getAllRemindersView().contains(reminder));
+        assertEquals(Set.of(reminder), Set.copyOf(reminderController.getRemindersForTask(task)));
+
+        reminderController.removeReminder(reminder);
+        assertTrue(reminderController.getAllRemindersView().isEmpty());
+        assertTrue(reminderController.getRemindersForTask(task).isEmpty());
+        assertTrue(task.getReminders().isEmpty());
+    }
+
+    @Test
+    void customDateOnRelativeReminderReplacesIt() {
+        Reminder reminder = new Reminder(ReminderType.ONE_DAY_BEFORE, task, null);
+        reminderController.addReminder(reminder);
+
+        reminderController.updateReminder(reminder, ReminderType.CUSTOM_DATE, today.plusDays(10));
+
+        assertFalse(reminderController.getAllRemindersView().contains(reminder));
+        assertEquals(1, reminderController.getRemindersForTask(task).size());
+        Reminder replacement = reminderController.getRemindersForTask(task).iterator().next();
+        assertEquals(ReminderType.CUSTOM_DATE, replacement.getType());
+        assertEquals(today.plusDays(10), replacement.getReminderDate());
+        assertEquals(List.of(replacement), task.getReminders());
+    }
+
+    @Test
+    void sameValuesAreRejectedAfterAnUpdate() {
+        Reminder reminder = new Reminder(ReminderType.CUSTOM_DATE, task, today.plusDays(5));
+        reminderController.addReminder(reminder);
+        reminderController.updateReminder(reminder, ReminderType.CUSTOM_DATE, today.plusDays(6));
+
+        assertThrows(IllegalArgumentException.class, () -> reminderController.addReminder(reminder));
+        assertThrows(IllegalArgumentException.class,
+                () -> reminderController.addReminder(new Reminder(ReminderType.CUSTOM_DATE, task, today.plusDays(6))));
+        assertEquals(1, reminderController.getAllRemindersView().size());
+        assertEquals(List.of(reminder), task.getReminders());
+    }
+
+    @Test
+    void deadlineChangeMovesAndDropsReminders() {
+        Reminder dayBefore = new Reminder(ReminderType.ONE_DAY_BEFORE, task, null);
+        reminderController.addReminder(dayBefore);
+        Reminder weekBefore = new Reminder(ReminderType.ONE_WEEK_BEFORE, task, null);
+        reminderController.addReminder(weekBefore);
+        Reminder custom = new Reminder(ReminderType.CUSTOM_DATE, task, today.plusDays(20));
+        reminderController.addReminder(custom);
+        events.clear();
+
+        task.setDeadline(today.plusDays(5));
+        reminderController.reevaluateRemindersForTask(task);
+
+        assertEquals(today.plusDays(4), dayBefore.getReminderDate());
+        assertEquals(Set.of(dayBefore), Set.copyOf(reminderController.getAllRemindersView()));
+        assertEquals(Set.of(dayBefore), Set.copyOf(reminderController.getRemindersForTask(task)));
+        assertEquals(List.of(dayBefore), task.getReminders());
+
+        assertEquals(2, events.size());
+        assertEquals(ModelChangeEvent.Type.REMOVED, events.get(0).getType());
+        assertEquals(Set.of(weekBefore, custom), Set.copyOf(events.get(0).getItems()));
+        assertEquals(ModelChangeEvent.Type.UPDATED, events.get(1).getType());
+        assertEquals(List.of(dayBefore), events.get(1).getItems());
+    }
+
+    @Test
+    void removingTasksClearsTheirReminders() {
+        Task other = new Task("Review", "Code review", category, priority, today.plusDays(10));
+        Reminder first = new Reminder(ReminderType.ONE_DAY_BEFORE, task, null);
+        Reminder second = new Reminder(ReminderType.ONE_WEEK_BEFORE, task, null);
+        Reminder third = new Reminder(ReminderType.ONE_DAY_BEFORE, other, null);
+        reminderController.addReminder(first);
+        reminderController.addReminder(second);
+        reminderController.addReminder(third);
+        events.clear();
+
+        reminderController.removeRemindersForTasks(List.of(task, other));
+
+        assertTrue(reminderController.getAllRemindersView().isEmpty());
+        assertTrue(reminderController.getRemindersForTask(task).isEmpty());
+        assertTrue(reminderController.getRemindersForTask(other).isEmpty());
+        assertTrue(task.getReminders().isEmpty());
+        assertTrue(other.getReminders().isEmpty());
+        assertEquals(1, events.size());
+        assertEquals(Set.of(first, second, third), Set.copyOf(events.get(0).getItems()));
+    }
+}
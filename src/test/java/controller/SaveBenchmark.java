@@ -0,0 +1,96 @@
+package controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times saving the tasks as JSON, compact and pretty-printed, against building the whole document
+ * as a tree first, the way tasks were saved before they were streamed. The tree is only built up to
+ * 100k tasks, since with a million it spends minutes collecting garbage in a 2 GB heap.
+ */
+@Tag(Benchmarks.TAG)
+class SaveBenchmark {
+    private static final Path TREE_FILE = Paths.get("tree-tasks.json");
+    private static final int MAX_TREE_SIZE = 100_000;
+
+    @Test
+    void saveJson() {
+        for (int size : Benchmarks.SIZES) {
+            Benchmarks.Store store = new Benchmarks.Store(size);
+            measure("streamed, compact", size, store, snapshot -> new DataController(false).saveSnapshot(snapshot));
+            measure("streamed, pretty", size, store, snapshot -> new DataController(true).saveSnapshot(snapshot));
+            if (size <= MAX_TREE_SIZE) {
+                measure("tree, pretty", size, store, SaveBenchmark::saveTree);
+            }
+        }
+    }
+
+    private interface Save {
+        long save(StoreSnapshot snapshot);
+    }
+
+    private static void measure(String benchmark, int size, Benchmarks.Store store, Save save) {
+        long[] bytes = new long[1];
+        long[] allocated = {Long.MAX_VALUE};
+        double millis = Benchmarks.bestMillis(Benchmarks.runs(size), () -> {
+            // Captured for every run, since a snapshot keeps the entries it builds for the first save
+            StoreSnapshot snapshot = store.capture();
+            long before = Benchmarks.allocatedBytes();
+            bytes[0] = save.save(snapshot);
+            allocated[0] = Math.min(allocated[0], Benchmarks.allocatedBytes() - before);
+        });
+        assertTrue(bytes[0] > 0, "Nothing was saved");
+        Benchmarks.report("save " + benchmark, size, String.format("%8.1f ms  %s written  %s allocated",
+                millis, Benchmarks.megabytes(bytes[0]), Benchmarks.megabytes(allocated[0])));
+    }
+
+    private static long saveTree(StoreSnapshot snapshot) {
+        JsonArrayBuilder tasks = Json.createArrayBuilder();
+        for (StoreSnapshot.TaskEntry task : snapshot.getTasks()) {
+            JsonArrayBuilder reminders = Json.createArrayBuilder();
+            for (StoreSnapshot.ReminderEntry reminder : task.reminders) {
+                reminders.add(Json.createObjectBuilder()
+                        .add("id", reminder.id)
+                        .add("type", reminder.type.name())
+                        .add("date", reminder.date.toString()));
+            }
+            JsonObjectBuilder entry = Json.createObjectBuilder()
+                    .add("id", task.id)
+                    .add("title", task.title)
+                    .add("description", task.description)
+                    .add("category", task.category)
+                    .add("priority", task.priority)
+                    .add("deadline", task.deadline.toString())
+                    .add("status", task.status.name())
+                    .add("reminders", reminders);
+            tasks.add(entry);
+        }
+        try (FileOutputStream out = new FileOutputStream(TREE_FILE.toFile());
+             JsonWriter writer = Json.createWriterFactory(
+                     Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true)).createWriter(out)) {
+            writer.writeObject(Json.createObjectBuilder().add("tasks", tasks).build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return Files.size(TREE_FILE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
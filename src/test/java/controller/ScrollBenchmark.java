@@ -0,0 +1,192 @@
+package controller;
+
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import model.Task;
+import org.example.Main;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import view.ActionButtonsTableCell;
+import view.AttributeTableCell;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Scrolls a task table through a window a page at a time and measures the time and the bytes the FX
+ * thread allocates per frame, with the shared cells against the cells the views built before: a
+ * {@link SimpleStringProperty} per value and fresh button handlers on every update. Each frame
+ * scrolls a page, so every cell shows a new row, and lays the table out. It needs the JavaFX toolkit,
+ * which needs a display or the headless Monocle platform ({@code -Dglass.platform=Monocle
+ * -Dmonocle.platform=Headless -Dprism.order=sw}, with Monocle on the test class path), and is skipped
+ * when the toolkit cannot start.
+ */
+@Tag(Benchmarks.TAG)
+class ScrollBenchmark {
+    private static final int SIZE = 100_000;
+    private static final int FRAMES = 500;
+    private static final int PAGE = 20;
+    private static final Consumer<Object> NO_ACTION = item -> {
+    };
+
+    private static boolean started;
+
+    @BeforeAll
+    static void startToolkit() {
+        try {
+            CountDownLatch ready = new CountDownLatch(1);
+            Platform.startup(ready::countDown);
+            ready.await();
+            started = true;
+        } catch (RuntimeException | Error | InterruptedException e) {
+            // No display and no Monocle: there is nothing to scroll
+            System.out.println("scroll benchmark skipped: " + e);
+        }
+    }
+
+    @AfterAll
+    static void stopToolkit() {
+        if (started) {
+            Platform.exit();
+        }
+    }
+
+    @Test
+    void scrollTaskTable() throws Exception {
+        assumeTrue(started, "The JavaFX toolkit could not start");
+        List<Task> tasks = new Benchmarks.Store(SIZE).tasks.getTasks();
+        // The first round only warms up
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            measure("scroll, shared cells", tasks, ScrollBenchmark::sharedColumns, report);
+            measure("scroll, per-update cells", tasks, ScrollBenchmark::formerColumns, report);
+        }
+    }
+
+    private static void measure(String benchmark, List<Task> tasks, Consumer<TableView<Object>> columns,
+                                boolean report) throws Exception {
+        long[] measured = onFxThread(() -> {
+            TableView<Object> table = new TableView<>();
+            columns.accept(table);
+            table.setItems(FXCollections.observableArrayList(tasks));
+            Stage stage = new Stage();
+            stage.setScene(new Scene(table, 1000, 600));
+            stage.show();
+            try {
+                scroll(table, 0);
+                long before = Benchmarks.allocatedBytes();
+                long start = System.nanoTime();
+                for (int frame = 1; frame <= FRAMES; frame++) {
+                    scroll(table, frame * PAGE);
+                }
+                return new long[]{System.nanoTime() - start, Benchmarks.allocatedBytes() - before};
+            } finally {
+                stage.close();
+            }
+        });
+        assertEquals(SIZE, tasks.size());
+        if (report) {
+            Benchmarks.report(benchmark, SIZE, String.format("%8.3f ms  %,8d bytes per frame",
+                    measured[0] / 1e6 / FRAMES, measured[1] / FRAMES));
+        }
+    }
+
+    private static void scroll(TableView<Object> table, int row) {
+        table.scrollTo(row);
+        table.applyCss();
+        table.layout();
+    }
+
+    private static List<Main.AttributeColumnSpec> specs() {
+        return List.of(
+                new Main.AttributeColumnSpec("Title", item -> ((Task) item).getTitle()),
+                new Main.AttributeColumnSpec("Category", item -> ((Task) item).getCategory().getName()),
+                new Main.AttributeColumnSpec("Priority", item -> ((Task) item).getPriority().getName()),
+                new Main.AttributeColumnSpec("Deadline", item -> ((Task) item).getDeadline().toString()),
+                new Main.AttributeColumnSpec("Status", item -> ((Task) item).getStatus().toString()));
+    }
+
+    private static void sharedColumns(TableView<Object> table) {
+        for (Main.AttributeColumnSpec spec : specs()) {
+            table.getColumns().add(AttributeTableCell.createColumn(spec));
+        }
+        TableColumn<Object, Void> actions = new TableColumn<>("Actions");
+        actions.setCellFactory(col -> new ActionButtonsTableCell("Edit", NO_ACTION, "Remove", NO_ACTION));
+        table.getColumns().add(actions);
+    }
+
+    /**
+     * The columns as the views built them before the cells were shared.
+     */
+    private static void formerColumns(TableView<Object> table) {
+        for (Main.AttributeColumnSpec spec : specs()) {
+            TableColumn<Object, String> col = new TableColumn<>(spec.getHeader());
+            col.setCellValueFactory(data -> new SimpleStringProperty(spec.getExtractor().apply(data.getValue())));
+            col.setCellFactory(tc -> new TableCell<Object, String>() {
+                private final Text text = new Text();
+
+                {
+                    text.wrappingWidthProperty().bind(this.widthProperty().subtract(10));
+                    setGraphic(text);
+                }
+
+                @Override
+                protected void updateItem(String item, boolean empty) {
+                    super.updateItem(item, empty);
+                    text.setText(empty ? null : item);
+                }
+            });
+            table.getColumns().add(col);
+        }
+        TableColumn<Object, Void> actions = new TableColumn<>("Actions");
+        actions.setCellFactory(col -> new TableCell<Object, Void>() {
+            private final Button editButton = new Button("Edit");
+            private final Button removeButton = new Button("Remove");
+            private final HBox actionButtons = new HBox(5);
+
+            {
+                actionButtons.setAlignment(Pos.CENTER);
+                actionButtons.getChildren().addAll(editButton, removeButton);
+            }
+
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty) {
+                    setGraphic(null);
+                } else {
+                    Object currentItem = getTableView().getItems().get(getIndex());
+                    editButton.setOnAction(event -> NO_ACTION.accept(currentItem));
+                    removeButton.setOnAction(event -> NO_ACTION.accept(currentItem));
+                    setGraphic(actionButtons);
+                }
+            }
+        });
+        table.getColumns().add(actions);
+    }
+
+    private static <T> T onFxThread(Callable<T> action) throws InterruptedException, ExecutionException {
+        FutureTask<T> task = new FutureTask<>(action);
+        Platform.runLater(task);
+        return task.get();
+    }
+}
@@ -0,0 +1,68 @@
+package controller;
+
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the bytes a search allocates when it checks every task, against lowercasing each task's
+ * title, category name and priority name for every search, as searches did before the lowercase
+ * forms were cached. The queries are too short for the trigram index, so both check all tasks; what
+ * is left per search is mostly the result list, which grows with the tasks found.
+ */
+@Tag(Benchmarks.TAG)
+class SearchAllocationBenchmark {
+    private static final String TITLE = "ta";
+    private static final String CATEGORY = "category 1";
+    private static final String PRIORITY = "priority 2";
+
+    @Test
+    void searchAllocation() {
+        for (int size : Benchmarks.SIZES) {
+            TaskController tasks = new Benchmarks.Store(size).tasks;
+            int[] found = new int[1];
+            long[] cached = measure(size, () -> found[0] = tasks.searchTasks(TITLE, CATEGORY, PRIORITY).size());
+            int[] lowercased = new int[1];
+            long[] uncached = measure(size, () -> lowercased[0] = lowercasing(tasks).size());
+            assertEquals(lowercased[0], found[0]);
+
+            Benchmarks.report("search, cached keys", size, format(cached, size, found[0]));
+            Benchmarks.report("search, lowercasing", size, format(uncached, size, found[0]));
+        }
+    }
+
+    /**
+     * @return The fewest bytes a run allocated and the fastest run, in microseconds.
+     */
+    private static long[] measure(int size, Runnable search) {
+        long[] allocated = {Long.MAX_VALUE};
+        double millis = Benchmarks.bestMillis(Benchmarks.runs(size) * 2, () -> {
+            long before = Benchmarks.allocatedBytes();
+            search.run();
+            allocated[0] = Math.min(allocated[0], Benchmarks.allocatedBytes() - before);
+        });
+        return new long[]{allocated[0], Math.round(millis * 1000)};
+    }
+
+    private static String format(long[] measured, int size, int found) {
+        return String.format("%8.2f ms  %,8d found  %s allocated  %6.1f bytes/task",
+                measured[1] / 1000.0, found, Benchmarks.megabytes(measured[0]), measured[0] / (double) size);
+    }
+
+    private static List<Task> lowercasing(TaskController tasks) {
+        List<Task> found = new ArrayList<>();
+        for (Task task : tasks.getTasksView()) {
+            if (task.getTitle().toLowerCase().contains(TITLE)
+                    && task.getCategory().getName().toLowerCase().contains(CATEGORY)
+                    && task.getPriority().getName().toLowerCase().contains(PRIORITY)) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,120 @@
+package controller;
+
+import model.Category;
+import model.IdGenerator;
+import model.Priority;
+import model.Reminder;
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times starting up with a million stored tasks, as the application does before it shows its
+ * window: loading the store and filling the controllers, in each storage format. The tasks keep the
+ * ids they were saved with, which is checked on a sample. New ids from {@link IdGenerator} are
+ * compared with the truncated random UUIDs every task was given on load before ids were stored,
+ * which also shows how often those collided.
+ */
+@Tag(Benchmarks.TAG)
+class StartupBenchmark {
+    private static final int SIZE = 1_000_000;
+    private static final int SAMPLE_EVERY = 1_000;
+
+    @Test
+    void generateIds() {
+        String[] ids = new String[SIZE];
+        // The first round only warms up
+        for (int round = 0; round < 2; round++) {
+            double generatorMillis = Benchmarks.bestMillis(1, () -> {
+                for (int i = 0; i < SIZE; i++) {
+                    ids[i] = IdGenerator.nextId();
+                }
+            });
+            assertEquals(SIZE, new HashSet<>(Arrays.asList(ids)).size());
+            double uuidMillis = Benchmarks.bestMillis(1, () -> {
+                for (int i = 0; i < SIZE; i++) {
+                    ids[i] = UUID.randomUUID().toString().substring(0, 8);
+                }
+            });
+            if (round == 1) {
+                Benchmarks.report("ids, generator", SIZE, String.format("%8.1f ms", generatorMillis));
+                Benchmarks.report("ids, random UUID prefix", SIZE, String.format("%8.1f ms  %,d collisions",
+                        uuidMillis, SIZE - new HashSet<>(Arrays.asList(ids)).size()));
+            }
+        }
+    }
+
+    @Test
+    void startUp() {
+        for (DataController.StorageFormat format : DataController.StorageFormat.values()) {
+            Benchmarks.Store store = new Benchmarks.Store(SIZE);
+            String[] saved = sample(store.tasks.getTasks());
+            new DataController(false, format).saveSnapshot(store.capture());
+            store = null;
+
+            double best = Double.MAX_VALUE;
+            for (int run = 0; run < Benchmarks.runs(SIZE); run++) {
+                Benchmarks.resetPeakHeap();
+                long start = System.nanoTime();
+                TaskController tasks = startUp(new DataController(false, format));
+                best = Math.min(best, (System.nanoTime() - start) / 1e6);
+                assertEquals(SIZE, tasks.getTasks().size());
+                assertArrayEquals(saved, sample(tasks.getTasks()), "Ids changed across the restart");
+            }
+            Benchmarks.report("start up, " + format.name().toLowerCase(), SIZE, String.format("%8.1f ms", best));
+        }
+    }
+
+    /**
+     * Loads the store into new controllers the way the application starts, up to the delayed sweep.
+     */
+    private static TaskController startUp(DataController dataController) {
+        TaskController taskController = new TaskController();
+        ReminderController reminderController = new ReminderController();
+        CategoryController categoryController = new CategoryController();
+        PriorityController priorityController = new PriorityController();
+
+        List<Category> categories = dataController.loadCategories();
+        List<Priority> priorities = dataController.loadPriorities();
+        List<Task> tasks = new ArrayList<>();
+        List<Reminder> reminders = new ArrayList<>();
+        dataController.loadTasksAndReminders(categories, priorities, tasks, reminders);
+        TaskArchive archive = dataController.openArchive(categories, priorities);
+        dataController.replayJournal(categories, priorities, tasks, reminders, archive);
+
+        for (Category category : categories) {
+            categoryController.addCategory(category);
+        }
+        for (Priority priority : priorities) {
+            try {
+                priorityController.addPriority(priority);
+            } catch (IllegalArgumentException e) {
+                // The default priority is already there
+            }
+        }
+        taskController.addTasks(tasks, priorityController);
+        taskController.attachArchive(archive);
+        for (Reminder reminder : reminders) {
+            reminderController.addReminder(reminder);
+        }
+        taskController.updateDelayedTasks();
+        return taskController;
+    }
+
+    private static String[] sample(List<Task> tasks) {
+        String[] ids = new String[tasks.size() / SAMPLE_EVERY];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tasks.get(i * SAMPLE_EVERY).getId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,55 @@
+package controller;
+
+import model.Category;
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that a snapshot holds the controllers' state as it was when it was captured, even though
+ * its entries are only built when it is written.
+ */
+class StoreSnapshotTest {
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void changesAfterCaptureAreNotInTheSnapshot() {
+        TaskController taskController = new TaskController();
+        ReminderController reminderController = new ReminderController();
+        CategoryController categoryController = new CategoryController();
+        PriorityController priorityController = new PriorityController();
+        Category work = new Category("Work");
+        categoryController.addCategory(work);
+        Task kept = new Task("Kept", "Description", work, null, today.plusDays(5));
+        Task removed = new Task("Removed", "Description", work, null, today.plusDays(8));
+        taskController.addTasks(List.of(kept, removed), priorityController);
+        Reminder reminder = new Reminder(ReminderType.ONE_DAY_BEFORE, kept, null);
+        reminderController.addReminder(reminder);
+
+        StoreSnapshot snapshot = StoreSnapshot.capture(taskController, reminderController, categoryController,
+                priorityController);
+        taskController.updateTask(kept, "Changed", "Description", work, kept.getPriority(), today.plusDays(9),
+                kept.getStatus(), reminderController);
+        taskController.removeTask(removed, reminderController);
+        taskController.addTask(new Task("Added", "Description", work, null, today.plusDays(3)), priorityController);
+        work.setName("Office");
+
+        List<StoreSnapshot.TaskEntry> entries = snapshot.getTasks();
+        assertEquals(2, entries.size());
+        StoreSnapshot.TaskEntry entry = entries.get(0);
+        assertEquals(kept.getId(), entry.id);
+        assertEquals("Kept", entry.title);
+        assertEquals("Work", entry.category);
+        assertEquals(today.plusDays(5), entry.deadline);
+        assertEquals(1, entry.reminders.size());
+        assertEquals(today.plusDays(4), entry.reminders.get(0).date);
+        assertEquals(removed.getId(), entries.get(1).id);
+        assertEquals(List.of("Work"), snapshot.getCategoryNames());
+    }
+}
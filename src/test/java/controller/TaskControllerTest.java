@@ -0,0 +1,213 @@
+package controller;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.ReminderType;
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that batch updates follow the same rules as single updates and change either every
+ * selected task or none of them.
+ */
+class TaskControllerTest {
+    private final LocalDate today = LocalDate.now();
+    private final Category work = new Category("Work");
+    private final Category home = new Category("Home");
+    private final List<ModelChangeEvent<Task>> events = new ArrayList<>();
+
+    private TaskController taskController;
+    private PriorityController priorityController;
+    private ReminderController reminderController;
+
+    @BeforeEach
+    void setUp() {
+        taskController = new TaskController();
+        priorityController = new PriorityController();
+        reminderController = new ReminderController();
+        taskController.addTaskListener(events::add);
+    }
+
+    @Test
+    void batchUpdateChangesEveryTaskWithOneEvent() {
+        Task first = addTask("First", today.plusDays(5));
+        Task second = addTask("Second", today.plusDays(8));
+        Task other = addTask("Other", today.plusDays(8));
+        Reminder reminder = new Reminder(ReminderType.ONE_DAY_BEFORE, first, null);
+        reminderController.addReminder(reminder);
+        events.clear();
+
+        List<Task> updated = taskController.updateTasks(task -> task != other, task -> {
+            task.setCategory(home);
+            task.setDeadline(task.getDeadline().plusDays(10));
+        }, reminderController);
+
+        assertEquals(List.of(first, second), updated);
+        assertEquals(home, first.getCategory());
+        assertEquals(today.plusDays(18), second.getDeadline());
+        assertEquals(work, other.getCategory());
+        assertEquals(List.of(first, second), taskController.getTasksInCategory(home));
+        assertEquals(List.of(other), taskController.getTasksInCategory(work));
+        assertEquals(today.plusDays(14), reminder.getReminderDate());
+        assertEquals(1, events.size());
+        assertEquals(ModelChangeEvent.Type.UPDATED, events.get(0).getType());
+        assertEquals(List.of(first, second), events.get(0).getItems());
+    }
+
+    @Test
+    void invalidChangeForOneTaskLeavesAllUntouched() {
+        Task first = addTask("First", today.plusDays(5));
+        Task second = addTask("Second", today.plusDays(1));
+        events.clear();
+
+        // Valid for the first task, but moves the second one into the past
+        assertThrows(IllegalArgumentException.class, () -> taskController.updateTasks(task -> true, task -> {
+            task.setCategory(home);
+            task.setDeadline(task.getDeadline().minusDays(3));
+        }, reminderController));
+
+        assertEquals(work, first.getCategory());
+        assertEquals(today.plusDays(5), first.getDeadline());
+        assertEquals(today.plusDays(1), second.getDeadline());
+        assertEquals(List.of(first, second), taskController.getTasksInCategory(work));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void batchUpdateFollowsTheDelayedTaskRules() {
+        Task overdue = addTask("Overdue", today.plusDays(1));
+        Task open = addTask("Open", today.plusDays(5));
+        taskController.updateDelayedTasks(today.plusDays(2));
+        assertEquals(TaskStatus.DELAYED, overdue.getStatus());
+        events.clear();
+
+        // A delayed task may not change anything but its status unless it gets a new deadline
+        assertThrows(IllegalArgumentException.class,
+                () -> taskController.updateTasks(task -> true, task -> task.setTitle(task.getTitle() + "!"),
+                        reminderController));
+        // Only tasks past their deadline may be marked as delayed
+        assertThrows(IllegalArgumentException.class,
+                () -> taskController.updateTasks(task -> true, task -> task.setStatus(TaskStatus.DELAYED),
+                        reminderController));
+        assertEquals("Open", open.getTitle());
+        assertEquals(TaskStatus.OPEN, open.getStatus());
+        assertTrue(events.isEmpty());
+
+        // A delayed task may be reopened once it gets a future deadline
+        taskController.updateTasks(task -> task == overdue, task -> {
+            task.setDeadline(today.plusDays(7));
+            task.setStatus(TaskStatus.OPEN);
+        }, reminderController);
+        assertEquals(TaskStatus.OPEN, overdue.getStatus());
+        assertEquals(List.of(open, overdue), taskController.overdueAsOf(today.plusDays(9)));
+    }
+
+    @Test
+    void categoryDeleteRemovesItsTasksAndRemindersInOneEventEach() {
+        CategoryController categoryController = new CategoryController();
+        categoryController.addCategory(work);
+        categoryController.addCategory(home);
+        Task first = addTask("First", today.plusDays(5));
+        Task second = addTask("Second", today.plusDays(8));
+        Task kept = new Task("Kept", "Description", home, null, today.plusDays(8));
+        taskController.addTask(kept, priorityController);
+        reminderController.addReminder(new Reminder(ReminderType.ONE_DAY_BEFORE, first, null));
+        reminderController.addReminder(new Reminder(ReminderType.ONE_DAY_BEFORE, second, null));
+        Reminder keptReminder = new Reminder(ReminderType.ONE_DAY_BEFORE, kept, null);
+        reminderController.addReminder(keptReminder);
+        List<ModelChangeEvent<Reminder>> reminderEvents = new ArrayList<>();
+        reminderController.addReminderListener(reminderEvents::add);
+        events.clear();
+
+        categoryController.removeCategory(work, taskController, reminderController);
+
+        assertEquals(List.of(kept), taskController.getTasks());
+        assertTrue(taskController.getTasksInCategory(work).isEmpty());
+        assertEquals(List.of(kept), taskController.overdueAsOf(today.plusDays(30)));
+        assertEquals(1, taskController.getStatistics().getTotalTasks());
+        assertEquals(List.of(keptReminder), List.copyOf(reminderController.getAllRemindersView()));
+        assertEquals(1, events.size());
+        assertEquals(ModelChangeEvent.Type.REMOVED, events.get(0).getType());
+        assertEquals(List.of(first, second), events.get(0).getItems());
+        assertEquals(1, reminderEvents.size());
+        assertEquals(2, reminderEvents.get(0).getItems().size());
+    }
+
+    @Test
+    void priorityDeleteMovesItsTasksToTheDefault() {
+        Priority high = new Priority("High");
+        priorityController.addPriority(high);
+        Task first = addTask("First", today.plusDays(5));
+        Task second = addTask("Second", today.plusDays(8));
+        taskController.updateTasks(task -> task == first, task -> task.setPriority(high), reminderController);
+        events.clear();
+
+        priorityController.removePriority(high, taskController);
+
+        Priority fallback = priorityController.getDefaultPriority();
+        assertEquals(fallback, first.getPriority());
+        assertTrue(taskController.getTasksWithPriority(high).isEmpty());
+        assertEquals(List.of(second, first), taskController.getTasksWithPriority(fallback));
+        assertEquals(1, events.size());
+        assertEquals(List.of(first), events.get(0).getItems());
+    }
+
+    @Test
+    void preparedSearchSeesTheTasksAsTheyWereWhenPrepared() {
+        Task first = addTask("Write report", today.plusDays(5));
+        Task second = addTask("Read report", today.plusDays(8));
+        Task third = addTask("Shopping", today.plusDays(3));
+        TaskSearch byTitle = taskController.prepareSearch("report", "", "", null);
+        TaskSearch all = taskController.prepareSearch("", "", "", TaskOrder.by(TaskOrder.Key.DEADLINE, false));
+
+        taskController.updateTask(first, "Write summary", "Description", home, first.getPriority(),
+                first.getDeadline(), first.getStatus(), reminderController);
+        taskController.removeTask(second, reminderController);
+        Task later = addTask("Report draft", today.plusDays(1));
+        work.setName("Office");
+
+        assertEquals(List.of(first, second), byTitle.run().fetch(0, 10));
+        assertEquals(List.of(second, first, third), all.run().fetch(0, 10));
+        assertEquals(List.of(later), taskController.openCursor("report", "", "", null).fetch(0, 10));
+        assertEquals(List.of(third, later), taskController.openCursor("", "office", "", null).fetch(0, 10));
+    }
+
+    @Test
+    void updatesMoveTasksOnlyInTheIndexesThatChanged() {
+        Task renamed = addTask("Groceries", today.plusDays(5));
+        Task moved = addTask("Laundry", today.plusDays(5));
+
+        taskController.updateTask(renamed, "Bills", "Description", work, renamed.getPriority(),
+                renamed.getDeadline(), renamed.getStatus(), reminderController);
+        taskController.updateTask(moved, "Laundry", "Other description", home, moved.getPriority(),
+                today.plusDays(9), moved.getStatus(), reminderController);
+        taskController.completeAll(List.of(renamed), reminderController);
+
+        assertTrue(taskController.searchTasks("grocer", "", "").isEmpty());
+        assertEquals(List.of(renamed), taskController.searchTasks("bills", "", ""));
+        assertEquals(List.of(moved), taskController.searchTasks("laundry", "", ""));
+        assertEquals(List.of(renamed), taskController.getTasksInCategory(work));
+        assertEquals(List.of(moved), taskController.getTasksInCategory(home));
+        assertEquals(1, taskController.getStatistics().getCompletedTasks());
+        assertEquals(1, taskController.getStatistics().getUnfinishedTasksDueBetween(today, today.plusDays(9)));
+        assertEquals(List.of(moved, renamed), taskController.openCursor("", "", "",
+                TaskOrder.by(TaskOrder.Key.DEADLINE, false)).fetch(0, 10));
+    }
+
+    private Task addTask(String title, LocalDate deadline) {
+        Task task = new Task(title, "Description", work, null, deadline);
+        taskController.addTask(task, priorityController);
+        return task;
+    }
+}
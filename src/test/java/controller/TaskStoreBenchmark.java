@@ -0,0 +1,78 @@
+package controller;
+
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times single adds, updates, lookups and removes against stores of growing size. Each operation
+ * finds the task through the id index, so its cost should not depend on the size of the store;
+ * the list search the controller used before is timed alongside for a few lookups.
+ */
+@Tag(Benchmarks.TAG)
+class TaskStoreBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int OPERATIONS = 10_000;
+    private static final int LIST_LOOKUPS = 100;
+
+    @Test
+    void singleOperations() {
+        for (int size : SIZES) {
+            Benchmarks.Store store = new Benchmarks.Store(size);
+            // The first round only warms up
+            for (int round = 0; round < 2; round++) {
+                measure(store, size, round == 1);
+            }
+        }
+    }
+
+    private static void measure(Benchmarks.Store store, int size, boolean report) {
+        TaskController tasks = store.tasks;
+        List<Task> added = Benchmarks.newTasks(OPERATIONS, store.categories.getCategories(),
+                store.priorities.getPriorities());
+
+        double addMillis = time(() -> added.forEach(task -> tasks.addTask(task, store.priorities)));
+        double updateMillis = time(() -> added.forEach(task -> tasks.updateTask(task, task.getTitle() + " changed",
+                task.getDescription(), task.getCategory(), task.getPriority(), task.getDeadline(),
+                task.getStatus(), store.reminders)));
+        Task[] found = new Task[1];
+        double lookupMillis = time(() -> added.forEach(task -> found[0] = tasks.getTaskById(task.getId())));
+        assertSame(added.get(OPERATIONS - 1), found[0]);
+        double removeMillis = time(() -> added.forEach(task -> tasks.removeTask(task, store.reminders)));
+        assertEquals(size, tasks.getTasksView().size());
+
+        List<Task> list = new ArrayList<>(tasks.getTasksView());
+        boolean[] contained = new boolean[1];
+        double listMillis = time(() -> {
+            for (int i = 0; i < LIST_LOOKUPS; i++) {
+                contained[0] = list.contains(list.get(size - 1 - i * (size / LIST_LOOKUPS)));
+            }
+        });
+        assertTrue(contained[0]);
+
+        if (report) {
+            Benchmarks.report("single operations", size, String.format(
+                    "add %5.2f  update %5.2f  lookup %5.2f  remove %5.2f  list contains %7.2f us/op",
+                    perOperation(addMillis, OPERATIONS), perOperation(updateMillis, OPERATIONS),
+                    perOperation(lookupMillis, OPERATIONS), perOperation(removeMillis, OPERATIONS),
+                    perOperation(listMillis, LIST_LOOKUPS)));
+        }
+    }
+
+    private static double time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static double perOperation(double millis, int operations) {
+        return millis * 1000 / operations;
+    }
+}
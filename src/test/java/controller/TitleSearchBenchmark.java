@@ -0,0 +1,49 @@
+package controller;
+
+import model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times title searches answered from the trigram index against a scan that checks every title, as
+ * searches were answered before. The queries go from one matching a handful of tasks to one
+ * matching a tenth of them; a query matching most of the store cannot be faster than copying its
+ * result, so none is timed here.
+ */
+@Tag(Benchmarks.TAG)
+class TitleSearchBenchmark {
+    private static final String[] QUERIES = {"task 123456", "task 12345", "k 9999", "sk 77", "task 3"};
+    private static final int REPEATS = 20;
+
+    @Test
+    void searchTitles() {
+        for (int size : Benchmarks.SIZES) {
+            TaskController tasks = new Benchmarks.Store(size).tasks;
+            for (String query : QUERIES) {
+                int[] found = new int[1];
+                double indexMillis = Benchmarks.bestMillis(REPEATS,
+                        () -> found[0] = tasks.searchTasks(query, "", "").size());
+                int[] scanned = new int[1];
+                double scanMillis = Benchmarks.bestMillis(REPEATS / 4, () -> scanned[0] = scan(tasks, query).size());
+                assertEquals(scanned[0], found[0]);
+                Benchmarks.report("title search", size, String.format("%-13s %,8d found  index %8.3f ms  scan %7.2f ms",
+                        '"' + query + '"', found[0], indexMillis, scanMillis));
+            }
+        }
+    }
+
+    private static List<Task> scan(TaskController tasks, String query) {
+        List<Task> found = new ArrayList<>();
+        for (Task task : tasks.getTasksView()) {
+            if (task.getTitle().toLowerCase().contains(query)) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+}